@@ -0,0 +1,100 @@
+package jpabook.jpastudy.api;
+
+import jakarta.persistence.EntityManager;
+import jpabook.jpastudy.domain.*;
+import jpabook.jpastudy.domain.item.Album;
+import jpabook.jpastudy.domain.item.Book;
+import jpabook.jpastudy.domain.item.Item;
+import jpabook.jpastudy.domain.item.Movie;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 벤치마크용 임베디드 H2.
+ * - 스프링 없이 하이버네이트만 띄워서 애플리케이션과 같은 매핑(스네이크 케이스 컬럼, 배치 페치 100)을 사용한다.
+ */
+final class OrderBenchmarkDb {
+
+    private static final int FLUSH_SIZE = 500;
+
+    private OrderBenchmarkDb() {
+    }
+
+    static SessionFactory create(int orderCount, int itemsPerOrder) {
+        SessionFactory sessionFactory = new Configuration()
+                .setPhysicalNamingStrategy(new CamelCaseToUnderscoresNamingStrategy())
+                .setProperty(AvailableSettings.JAKARTA_JDBC_URL, "jdbc:h2:mem:bench_" + orderCount + "_" + itemsPerOrder + ";DB_CLOSE_DELAY=-1")
+                .setProperty(AvailableSettings.JAKARTA_JDBC_USER, "sa")
+                .setProperty(AvailableSettings.JAKARTA_JDBC_PASSWORD, "")
+                .setProperty(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+                .setProperty(AvailableSettings.DEFAULT_BATCH_FETCH_SIZE, "100")
+                .addAnnotatedClass(Member.class)
+                .addAnnotatedClass(Order.class)
+                .addAnnotatedClass(OrderItem.class)
+                .addAnnotatedClass(Delivery.class)
+                .addAnnotatedClass(Category.class)
+                .addAnnotatedClass(Item.class)
+                .addAnnotatedClass(Book.class)
+                .addAnnotatedClass(Album.class)
+                .addAnnotatedClass(Movie.class)
+                .buildSessionFactory();
+
+        seed(sessionFactory, orderCount, itemsPerOrder);
+        return sessionFactory;
+    }
+
+    // 회원 10명당 주문 100건 비율, 상품은 주문당 상품 수의 5배
+    private static void seed(SessionFactory sessionFactory, int orderCount, int itemsPerOrder) {
+        EntityManager em = sessionFactory.createEntityManager();
+        em.getTransaction().begin();
+
+        List<Member> members = new ArrayList<>();
+        for (int i = 0; i < Math.max(1, orderCount / 10); i++) {
+            Member member = new Member();
+            member.setName("member" + i);
+            member.setAddress(new Address("서울", "street" + i, "zip" + i));
+            em.persist(member);
+            members.add(member);
+        }
+
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < itemsPerOrder * 5; i++) {
+            Book book = new Book();
+            book.setName("book" + i);
+            book.setPrice(10000 + i);
+            book.setStockQuantity(Integer.MAX_VALUE);
+            em.persist(book);
+            items.add(book);
+        }
+
+        for (int i = 0; i < orderCount; i++) {
+            Member member = members.get(i % members.size());
+            Delivery delivery = new Delivery();
+            delivery.setAddress(member.getAddress());
+            delivery.setStatus(DeliveryStatus.READY);
+
+            OrderItem[] orderItems = new OrderItem[itemsPerOrder];
+            for (int j = 0; j < itemsPerOrder; j++) {
+                Item item = items.get((i + j) % items.size());
+                orderItems[j] = OrderItem.createOrderItem(item, item.getPrice(), 1);
+            }
+            em.persist(Order.createOrder(member, delivery, orderItems));
+
+            if ((i + 1) % FLUSH_SIZE == 0) {
+                em.flush();
+                em.clear();
+                // clear 로 준영속이 된 회원, 상품을 다시 조회
+                members = em.createQuery("select m from Member m order by m.id", Member.class).getResultList();
+                items = em.createQuery("select i from Item i order by i.id", Item.class).getResultList();
+            }
+        }
+
+        em.getTransaction().commit();
+        em.close();
+    }
+}
@@ -0,0 +1,135 @@
+package jpabook.jpastudy.api;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.hibernate5.jakarta.Hibernate5JakartaModule;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.persistence.EntityManager;
+import jpabook.jpastudy.repository.order.OrderRepository;
+import jpabook.jpastudy.repository.order.query.OrderQueryRepository;
+import jpabook.jpastudy.service.ChangeVersions;
+import org.hibernate.SessionFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * 주문 조회 전략 v1 ~ v6 비교.
+ * - 호출마다 새 영속성 컨텍스트에서 컨트롤러 메서드를 실행하고 JSON 직렬화까지 포함한다.
+ * - 처리량(thrpt)과 지연 분포(sample), gc 프로파일러로 호출당 할당량을 측정한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderReadBenchmark {
+
+    @Param({"100", "1000"})
+    int orderCount;
+
+    @Param({"2", "10"})
+    int itemsPerOrder;
+
+    private SessionFactory sessionFactory;
+    private ObjectMapper objectMapper;
+    private final ChangeVersions changeVersions = new ChangeVersions();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        sessionFactory = OrderBenchmarkDb.create(orderCount, itemsPerOrder);
+        objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .registerModule(new Hibernate5JakartaModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    // v1: 엔티티 + 지연 로딩
+    @Benchmark
+    public byte[] v1_entityLazy() {
+        return call(OrderApiController::getOrdersV1);
+    }
+
+    // v2: 엔티티 -> DTO, 지연 로딩(배치 페치)
+    @Benchmark
+    public byte[] v2_entityToDto() {
+        return call(OrderApiController::getOrdersV2);
+    }
+
+    // v3: 페치 조인
+    @Benchmark
+    public byte[] v3_fetchJoin() {
+        // If-None-Match 없는 요청: 항상 조회한다
+        return call(c -> c.getOrdersV3(new ServletWebRequest(new MockHttpServletRequest(), new MockHttpServletResponse())));
+    }
+
+    // v3.1: toOne 페치 조인 + 컬렉션 배치 페치
+    @Benchmark
+    public byte[] v3_1_batchFetch() {
+        return call(c -> c.getOrdersV3_page(0, orderCount));
+    }
+
+    // v4: DTO 직접 조회(N + 1)
+    @Benchmark
+    public byte[] v4_dtoNPlusOne() {
+        return call(OrderApiController::getOrdersV4);
+    }
+
+    // v5: DTO 직접 조회 + IN 절 Map
+    @Benchmark
+    public byte[] v5_dtoInMap() {
+        return call(OrderApiController::getOrdersV5);
+    }
+
+    // v5.2: DTO 없이 조회 행을 JsonGenerator 에 바로 쓰기
+    @Benchmark
+    public byte[] v5_2_directJson() {
+        EntityManager em = sessionFactory.createEntityManager();
+        try {
+            em.getTransaction().begin();
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                new OrderQueryRepository(em, null).writeAllByDto_json(generator);
+            }
+            em.getTransaction().rollback();
+            return out.toByteArray();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        } finally {
+            em.close();
+        }
+    }
+
+    // v6: 플랫 DTO
+    @Benchmark
+    public byte[] v6_flatDto() {
+        return call(OrderApiController::getOrdersV6);
+    }
+
+    private byte[] call(Function<OrderApiController, Object> endpoint) {
+        EntityManager em = sessionFactory.createEntityManager();
+        try {
+            em.getTransaction().begin();
+            OrderApiController controller = new OrderApiController(new OrderRepository(em), new OrderQueryRepository(em, null), objectMapper, null, changeVersions, null);
+            byte[] json = objectMapper.writeValueAsBytes(endpoint.apply(controller));
+            em.getTransaction().rollback();
+            return json;
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        } finally {
+            em.close();
+        }
+    }
+}
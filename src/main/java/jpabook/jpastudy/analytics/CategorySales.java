@@ -0,0 +1,7 @@
+package jpabook.jpastudy.analytics;
+
+/**
+ * 하위 카테고리의 상품을 포함한 카테고리별 매출.
+ */
+public record CategorySales(Long categoryId, String name, long units, long revenue) {
+}
@@ -0,0 +1,6 @@
+package jpabook.jpastudy.analytics;
+
+import java.time.LocalDate;
+
+public record DailySales(LocalDate day, long units, long revenue) {
+}
@@ -0,0 +1,4 @@
+package jpabook.jpastudy.analytics;
+
+public record ItemSales(long itemId, long units, long revenue) {
+}
@@ -0,0 +1,263 @@
+package jpabook.jpastudy.analytics;
+
+import jpabook.jpastudy.domain.OrderStatus;
+import jpabook.jpastudy.repository.InListLoader;
+import jpabook.jpastudy.service.CategoryNode;
+import jpabook.jpastudy.service.CategoryTree;
+import jpabook.jpastudy.service.CategoryTreeService;
+import jpabook.jpastudy.service.OrderChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 매출 분석(주문상품을 메모리의 열 배열로 들고 집계).
+ * - 시작할 때 주문상품 전체를 한 번 읽어 SalesColumns 에 적재한다.
+ * - 이후에는 커밋된 주문 이벤트를 모아 두었다가 주기적으로 새 주문만 IN 쿼리로 읽어 추가하고, 취소는 표시만 한다.
+ *   조회는 DB 를 기다리지 않고 마지막으로 반영된 snapshot 을 쓴다(최대 refresh 주기만큼 늦다).
+ * - 적재/반영은 ReentrantLock 으로 한 번에 하나만 한다(synchronized 안에서 JDBC 를 기다리면 가상 스레드가 캐리어 스레드를 붙잡는다).
+ * - 집계는 DB 를 거치지 않고 열 배열을 병렬로 스캔한다. 취소된 주문은 빠진다.
+ */
+@Slf4j
+@Component
+public class SalesAnalytics {
+
+    private static final int MAX_DAYS = 3660;
+    private static final int LOAD_FETCH_SIZE = 1000;
+
+    private static final String SELECT_LINES = "select o.order_id, o.order_date, o.status, oi.item_id, oi.order_price, oi.count" +
+            " from orders o" +
+            " join order_item oi on oi.order_id = o.order_id";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final CategoryTreeService categoryTreeService;
+
+    private final SalesColumns columns = new SalesColumns();
+    private final Queue<OrderChangedEvent> pending = new ConcurrentLinkedQueue<>();
+    private final ReentrantLock drainLock = new ReentrantLock();
+    private volatile boolean loaded;
+
+    public SalesAnalytics(DataSource dataSource, CategoryTreeService categoryTreeService) {
+        // 전체 적재는 커서로 나눠 읽는다(공유 JdbcTemplate 설정은 건드리지 않도록 따로 만든다)
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        template.setFetchSize(LOAD_FETCH_SIZE);
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(template);
+        this.categoryTreeService = categoryTreeService;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        drainLock.lock();
+        try {
+            LineCollector collector = new LineCollector();
+            jdbcTemplate.getJdbcTemplate().query(SELECT_LINES + " order by o.order_id", collector);
+            collector.finish();
+            loaded = true;
+        } finally {
+            drainLock.unlock();
+        }
+        log.info("매출 분석 적재: {} 개 주문상품", columns.snapshot().size());
+    }
+
+    // 커밋된 변경만 쌓아 둔다(DB 조회는 drain 에서 한꺼번에)
+    @TransactionalEventListener
+    public void onOrderChanged(OrderChangedEvent event) {
+        pending.add(event);
+    }
+
+    @Scheduled(fixedDelayString = "${jpastudy.sales-analytics.refresh-interval-ms:1000}")
+    public void drain() {
+        drainLock.lock();
+        try {
+            drainPending();
+        } finally {
+            drainLock.unlock();
+        }
+    }
+
+    private void drainPending() {
+        if (!loaded || pending.isEmpty()) {
+            return;
+        }
+
+        List<OrderChangedEvent> events = new ArrayList<>();
+        OrderChangedEvent event;
+        while ((event = pending.poll()) != null) {
+            events.add(event);
+        }
+
+        // 새 주문을 먼저 추가하고(읽을 때의 상태가 반영됨) 취소를 표시한다
+        Set<Long> newOrderIds = new LinkedHashSet<>();
+        for (OrderChangedEvent e : events) {
+            if (e.type() == OrderChangedEvent.Type.ORDER && !columns.contains(e.orderId())) {
+                newOrderIds.add(e.orderId());
+            }
+        }
+        if (!newOrderIds.isEmpty()) {
+            LineCollector collector = new LineCollector();
+            InListLoader.defaults().load(newOrderIds, chunk -> {
+                jdbcTemplate.query(SELECT_LINES + " where o.order_id in (:ids) order by o.order_id", Map.of("ids", chunk), collector);
+                return List.of();
+            });
+            collector.finish();
+        }
+        for (OrderChangedEvent e : events) {
+            if (e.type() == OrderChangedEvent.Type.CANCEL) {
+                columns.cancelOrder(e.orderId());
+            }
+        }
+    }
+
+    // 상품별 매출(금액 내림차순 상위 limit 개)
+    public List<ItemSales> salesByItem(SalesFilter filter, int limit) {
+        SalesColumns.Snapshot snapshot = currentSnapshot();
+        long[][] sums = snapshot.sumBy(fromDay(filter), toDay(filter), itemMask(snapshot, filter), snapshot.itemCount(), (item, day) -> item);
+
+        List<ItemSales> result = new ArrayList<>();
+        for (int i = 0; i < snapshot.itemCount(); i++) {
+            if (sums[0][i] > 0) {
+                result.add(new ItemSales(snapshot.itemId(i), sums[0][i], sums[1][i]));
+            }
+        }
+        result.sort(Comparator.comparingLong(ItemSales::revenue).reversed().thenComparingLong(ItemSales::itemId));
+        return result.size() > limit ? List.copyOf(result.subList(0, limit)) : result;
+    }
+
+    // 카테고리별 매출(하위 카테고리 포함, 트리 순서). 상품별로 한 번 스캔한 뒤 트리에서 더한다.
+    public List<CategorySales> salesByCategory(SalesFilter filter) {
+        SalesColumns.Snapshot snapshot = currentSnapshot();
+        long[][] sums = snapshot.sumBy(fromDay(filter), toDay(filter), itemMask(snapshot, filter), snapshot.itemCount(), (item, day) -> item);
+
+        Map<Long, Integer> indexByItemId = new HashMap<>();
+        for (int i = 0; i < snapshot.itemCount(); i++) {
+            indexByItemId.put(snapshot.itemId(i), i);
+        }
+
+        CategoryTree tree = categoryTreeService.getTree();
+        List<CategorySales> result = new ArrayList<>();
+        Deque<CategoryNode> stack = new ArrayDeque<>();
+        for (int i = tree.getRoots().size() - 1; i >= 0; i--) {
+            stack.push(tree.getRoots().get(i));
+        }
+        while (!stack.isEmpty()) {
+            CategoryNode node = stack.pop();
+            long units = 0;
+            long revenue = 0;
+            for (Long itemId : tree.itemIdsUnder(node.getId())) {
+                Integer index = indexByItemId.get(itemId);
+                if (index != null) {
+                    units += sums[0][index];
+                    revenue += sums[1][index];
+                }
+            }
+            result.add(new CategorySales(node.getId(), node.getName(), units, revenue));
+            for (int i = node.getChildren().size() - 1; i >= 0; i--) {
+                stack.push(node.getChildren().get(i));
+            }
+        }
+        return result;
+    }
+
+    // 일별 매출(기간 안의 모든 날, 매출이 없는 날은 0)
+    public List<DailySales> salesByDay(SalesFilter filter) {
+        int fromDay = fromDay(filter);
+        int toDay = toDay(filter);
+        if (fromDay == Integer.MIN_VALUE || toDay == Integer.MAX_VALUE || toDay - fromDay + 1 > MAX_DAYS) {
+            throw new IllegalArgumentException("일별 매출은 " + MAX_DAYS + "일 이내의 기간으로 조회해야 합니다.");
+        }
+        if (toDay < fromDay) {
+            return List.of();
+        }
+
+        SalesColumns.Snapshot snapshot = currentSnapshot();
+        int dayCount = toDay - fromDay + 1;
+        long[][] sums = snapshot.sumBy(fromDay, toDay, itemMask(snapshot, filter), dayCount, (item, day) -> day - fromDay);
+
+        List<DailySales> result = new ArrayList<>(dayCount);
+        for (int i = 0; i < dayCount; i++) {
+            result.add(new DailySales(LocalDate.ofEpochDay(fromDay + i), sums[0][i], sums[1][i]));
+        }
+        return result;
+    }
+
+    // 마지막으로 반영된 snapshot(쌓인 변경은 주기적인 drain 이 반영한다)
+    private SalesColumns.Snapshot currentSnapshot() {
+        return columns.snapshot();
+    }
+
+    private boolean[] itemMask(SalesColumns.Snapshot snapshot, SalesFilter filter) {
+        if (filter.categoryId() == null) {
+            return null;
+        }
+        Set<Long> itemIds = categoryTreeService.getTree().itemIdsUnder(filter.categoryId());
+        boolean[] mask = new boolean[snapshot.itemCount()];
+        for (int i = 0; i < mask.length; i++) {
+            mask[i] = itemIds.contains(snapshot.itemId(i));
+        }
+        return mask;
+    }
+
+    private static int fromDay(SalesFilter filter) {
+        return filter.from() == null ? Integer.MIN_VALUE : Math.toIntExact(filter.from().toEpochDay());
+    }
+
+    private static int toDay(SalesFilter filter) {
+        return filter.to() == null ? Integer.MAX_VALUE : Math.toIntExact(filter.to().toEpochDay());
+    }
+
+    /**
+     * order_id 순으로 정렬된 행을 주문 단위로 모아 SalesColumns 에 추가한다.
+     */
+    private class LineCollector implements RowCallbackHandler {
+
+        private long orderId = -1;
+        private boolean orderCanceled;
+        private int epochDay;
+        private final List<long[]> lines = new ArrayList<>(); // {itemId, price, count}
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            long id = rs.getLong("order_id");
+            if (id != orderId) {
+                finish();
+                orderId = id;
+                orderCanceled = OrderStatus.CANCEL.name().equals(rs.getString("status"));
+                LocalDateTime orderDate = rs.getObject("order_date", LocalDateTime.class);
+                epochDay = orderDate == null ? 0 : Math.toIntExact(orderDate.toLocalDate().toEpochDay());
+            }
+            lines.add(new long[]{rs.getLong("item_id"), rs.getInt("order_price"), rs.getInt("count")});
+        }
+
+        void finish() {
+            if (lines.isEmpty()) {
+                return;
+            }
+            long[] itemIds = new long[lines.size()];
+            int[] prices = new int[lines.size()];
+            int[] counts = new int[lines.size()];
+            for (int i = 0; i < lines.size(); i++) {
+                long[] line = lines.get(i);
+                itemIds[i] = line[0];
+                prices[i] = (int) line[1];
+                counts[i] = (int) line[2];
+            }
+            columns.appendOrder(orderId, orderCanceled, epochDay, itemIds, prices, counts);
+            lines.clear();
+        }
+    }
+}
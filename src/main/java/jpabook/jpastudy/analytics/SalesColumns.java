@@ -0,0 +1,198 @@
+package jpabook.jpastudy.analytics;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * 주문상품을 열 단위 기본형 배열로 보관한다(추가만 가능, 취소는 표시만).
+ * - 행 하나 = 주문상품 하나. 상품은 id 대신 0부터 시작하는 조밀한 번호로 저장해서 집계를 배열 인덱스로 한다.
+ * - 쓰기는 한 번에 한 스레드(synchronized), 읽기는 잠금 없이 snapshot 의 size 까지만 본다.
+ *   배열이 커지면 복사본을 새로 만들고 snapshot 을 바꾼다. 이전 snapshot 을 보던 스캔은 그대로 끝난다.
+ * - 취소 표시는 같은 배열을 고치므로 진행 중인 스캔에는 반영될 수도, 안 될 수도 있다.
+ */
+public class SalesColumns {
+
+    private static final int INITIAL_CAPACITY = 1024;
+    // 이보다 작으면 나눠서 병렬로 돌리는 비용이 더 크다
+    private static final int PARALLEL_THRESHOLD = 64 * 1024;
+
+    private final Map<Long, Integer> itemIndex = new HashMap<>();
+    private final Map<Long, Long> orderRows = new HashMap<>(); // orderId -> (시작 행 << 32 | 행 수)
+    private long[] itemIds = new long[64];
+
+    private int[] items = new int[INITIAL_CAPACITY];
+    private int[] prices = new int[INITIAL_CAPACITY];
+    private int[] counts = new int[INITIAL_CAPACITY];
+    private int[] days = new int[INITIAL_CAPACITY];
+    private byte[] canceled = new byte[INITIAL_CAPACITY];
+
+    private volatile Snapshot snapshot = new Snapshot(0, 0, itemIds, items, prices, counts, days, canceled);
+
+    /**
+     * 주문 하나의 주문상품을 추가한다. 이미 있는 주문이면 무시한다.
+     */
+    public synchronized void appendOrder(long orderId, boolean orderCanceled, int epochDay,
+                                         long[] lineItemIds, int[] linePrices, int[] lineCounts) {
+        if (lineItemIds.length == 0 || orderRows.containsKey(orderId)) {
+            return;
+        }
+
+        int start = snapshot.size;
+        ensureCapacity(start + lineItemIds.length);
+        for (int i = 0; i < lineItemIds.length; i++) {
+            int row = start + i;
+            items[row] = indexOf(lineItemIds[i]);
+            prices[row] = linePrices[i];
+            counts[row] = lineCounts[i];
+            days[row] = epochDay;
+            canceled[row] = (byte) (orderCanceled ? 1 : 0);
+        }
+        orderRows.put(orderId, ((long) start << 32) | lineItemIds.length);
+
+        snapshot = new Snapshot(start + lineItemIds.length, itemIndex.size(), itemIds, items, prices, counts, days, canceled);
+    }
+
+    /**
+     * 주문 취소 표시.
+     * @return 없는 주문이면 false
+     */
+    public synchronized boolean cancelOrder(long orderId) {
+        Long rows = orderRows.get(orderId);
+        if (rows == null) {
+            return false;
+        }
+        int start = (int) (rows >>> 32);
+        int length = (int) (long) rows;
+        Arrays.fill(canceled, start, start + length, (byte) 1);
+        return true;
+    }
+
+    public synchronized boolean contains(long orderId) {
+        return orderRows.containsKey(orderId);
+    }
+
+    public Snapshot snapshot() {
+        return snapshot;
+    }
+
+    private int indexOf(long itemId) {
+        Integer index = itemIndex.get(itemId);
+        if (index != null) {
+            return index;
+        }
+        int next = itemIndex.size();
+        if (next == itemIds.length) {
+            itemIds = Arrays.copyOf(itemIds, next * 2);
+        }
+        itemIds[next] = itemId;
+        itemIndex.put(itemId, next);
+        return next;
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= items.length) {
+            return;
+        }
+        int capacity = Math.max(required, items.length * 2);
+        items = Arrays.copyOf(items, capacity);
+        prices = Arrays.copyOf(prices, capacity);
+        counts = Arrays.copyOf(counts, capacity);
+        days = Arrays.copyOf(days, capacity);
+        canceled = Arrays.copyOf(canceled, capacity);
+    }
+
+    /**
+     * 어느 시점의 열 배열과 행 수. 스캔은 항상 snapshot 하나로 한다.
+     */
+    public static final class Snapshot {
+
+        private final int size;
+        private final int itemCount;
+        private final long[] itemIds;
+        private final int[] items;
+        private final int[] prices;
+        private final int[] counts;
+        private final int[] days;
+        private final byte[] canceled;
+
+        private Snapshot(int size, int itemCount, long[] itemIds, int[] items, int[] prices, int[] counts, int[] days, byte[] canceled) {
+            this.size = size;
+            this.itemCount = itemCount;
+            this.itemIds = itemIds;
+            this.items = items;
+            this.prices = prices;
+            this.counts = counts;
+            this.days = days;
+            this.canceled = canceled;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public int itemCount() {
+            return itemCount;
+        }
+
+        public long itemId(int index) {
+            return itemIds[index];
+        }
+
+        /**
+         * 조건에 맞는 취소되지 않은 행을 key 별로 더한다.
+         * @param keyCount key 의 범위 [0, keyCount)
+         * @param key      행 -> key, 음수면 그 행은 건너뛴다
+         * @return [0] 수량 합, [1] 금액(가격 * 수량) 합. 둘 다 key 로 인덱스
+         */
+        public long[][] sumBy(int fromDay, int toDay, boolean[] itemMask, int keyCount, RowKey key) {
+            int chunks = size < PARALLEL_THRESHOLD ? 1 : Math.max(1, size / PARALLEL_THRESHOLD);
+            int chunkSize = (size + chunks - 1) / Math.max(1, chunks);
+
+            IntStream range = IntStream.range(0, chunks);
+            if (chunks > 1) {
+                range = range.parallel();
+            }
+            return range
+                    .mapToObj(c -> scan(c * chunkSize, Math.min(size, (c + 1) * chunkSize), fromDay, toDay, itemMask, keyCount, key))
+                    .reduce(Snapshot::merge)
+                    .orElseGet(() -> new long[2][keyCount]);
+        }
+
+        private long[][] scan(int from, int to, int fromDay, int toDay, boolean[] itemMask, int keyCount, RowKey key) {
+            long[] units = new long[keyCount];
+            long[] revenue = new long[keyCount];
+            for (int row = from; row < to; row++) {
+                int day = days[row];
+                if (canceled[row] != 0 || day < fromDay || day > toDay) {
+                    continue;
+                }
+                int item = items[row];
+                if (itemMask != null && (item >= itemMask.length || !itemMask[item])) {
+                    continue;
+                }
+                int k = key.of(item, day);
+                if (k < 0) {
+                    continue;
+                }
+                units[k] += counts[row];
+                revenue[k] += (long) prices[row] * counts[row];
+            }
+            return new long[][]{units, revenue};
+        }
+
+        private static long[][] merge(long[][] a, long[][] b) {
+            for (int i = 0; i < a[0].length; i++) {
+                a[0][i] += b[0][i];
+                a[1][i] += b[1][i];
+            }
+            return a;
+        }
+    }
+
+    @FunctionalInterface
+    public interface RowKey {
+        int of(int itemIndex, int epochDay);
+    }
+}
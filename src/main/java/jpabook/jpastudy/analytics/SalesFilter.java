@@ -0,0 +1,9 @@
+package jpabook.jpastudy.analytics;
+
+import java.time.LocalDate;
+
+/**
+ * 매출 집계 조건. 기간은 주문일 기준 [from, to], categoryId 가 있으면 하위 카테고리를 포함한 상품만 본다.
+ */
+public record SalesFilter(LocalDate from, LocalDate to, Long categoryId) {
+}
@@ -0,0 +1,46 @@
+package jpabook.jpastudy.api;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static java.util.stream.Collectors.toList;
+
+@RestController
+@RequiredArgsConstructor
+public class CacheStatsApiController {
+
+    private final EntityManagerFactory emf;
+
+    // 2차 캐시 영역별 적중/실패 통계
+    @GetMapping("/api/cache/stats")
+    public List<RegionStatsDto> getCacheStats() {
+        Statistics statistics = emf.unwrap(SessionFactory.class).getStatistics();
+        return Arrays.stream(statistics.getSecondLevelCacheRegionNames())
+                .map(region -> new RegionStatsDto(region, statistics.getDomainDataRegionStatistics(region)))
+                .collect(toList());
+    }
+
+    @Data
+    @AllArgsConstructor
+    static class RegionStatsDto {
+        private String region;
+        private long hitCount;
+        private long missCount;
+        private long putCount;
+        private long elementCountInMemory;
+
+        public RegionStatsDto(String region, CacheRegionStatistics stats) {
+            this(region, stats.getHitCount(), stats.getMissCount(), stats.getPutCount(), stats.getElementCountInMemory());
+        }
+    }
+}
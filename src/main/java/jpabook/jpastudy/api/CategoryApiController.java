@@ -0,0 +1,82 @@
+package jpabook.jpastudy.api;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jpabook.jpastudy.domain.item.Item;
+import jpabook.jpastudy.service.CategoryNode;
+import jpabook.jpastudy.service.CategoryService;
+import jpabook.jpastudy.service.CategoryTreeService;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+import static java.util.stream.Collectors.toList;
+
+@RestController
+@RequiredArgsConstructor
+public class CategoryApiController {
+
+    private final CategoryTreeService categoryTreeService;
+    private final CategoryService categoryService;
+
+    // 카테고리 등록(커밋 후 트리 캐시가 다시 만들어진다)
+    @PostMapping("/api/categories")
+    public CreateCategoryResponse saveCategory(@RequestBody @Valid CreateCategoryRequest request) {
+        Long id = categoryService.saveCategory(request.getName(), request.getParentId());
+        return new CreateCategoryResponse(id);
+    }
+
+    // 카테고리에 상품 연결
+    @PostMapping("/api/categories/{categoryId}/items/{itemId}")
+    public void addItem(@PathVariable Long categoryId, @PathVariable Long itemId) {
+        categoryService.addItem(categoryId, itemId);
+    }
+
+    // 전체 카테고리 트리(메모리)
+    @GetMapping("/api/categories")
+    public List<CategoryNode> getCategoryTree() {
+        return categoryTreeService.getTree().getRoots();
+    }
+
+    @GetMapping("/api/categories/{categoryId}")
+    public ResponseEntity<CategoryNode> getSubtree(@PathVariable Long categoryId) {
+        return ResponseEntity.of(categoryTreeService.findSubtree(categoryId));
+    }
+
+    // 하위 카테고리를 포함한 상품 목록
+    @GetMapping("/api/categories/{categoryId}/items")
+    public List<CategoryItemDto> getItemsUnder(@PathVariable Long categoryId) {
+        return categoryTreeService.findItemsUnder(categoryId).stream()
+                .map(CategoryItemDto::new)
+                .collect(toList());
+    }
+
+    @Data
+    static class CreateCategoryRequest {
+        @NotEmpty
+        private String name;
+        private Long parentId;
+    }
+
+    @Data
+    @AllArgsConstructor
+    static class CreateCategoryResponse {
+        private Long id;
+    }
+
+    @Data
+    @AllArgsConstructor
+    static class CategoryItemDto {
+        private Long itemId;
+        private String name;
+        private int price;
+
+        public CategoryItemDto(Item item) {
+            this(item.getId(), item.getName(), item.getPrice());
+        }
+    }
+}
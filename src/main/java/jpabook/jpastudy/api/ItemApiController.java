@@ -0,0 +1,71 @@
+package jpabook.jpastudy.api;
+
+import jpabook.jpastudy.domain.item.Item;
+import jpabook.jpastudy.repository.ItemSearch;
+import jpabook.jpastudy.service.ItemService;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+import static java.util.stream.Collectors.toList;
+
+@RestController
+@RequiredArgsConstructor
+public class ItemApiController {
+
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_SEARCH_RESULTS = 50;
+
+    private final ItemService itemService;
+
+    // 커서 페이징 상품 목록(카테고리, 종류 필터)
+    @GetMapping("/api/items")
+    public Result<List<ItemDto>> getItems(ItemSearch itemSearch,
+                                          @RequestParam(value = "after", required = false) Long after,
+                                          @RequestParam(value = "limit", defaultValue = "20") int limit) {
+        limit = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        List<Item> items = itemService.findItems(itemSearch, after, limit);
+        List<ItemDto> result = items.stream()
+                .map(ItemDto::new)
+                .collect(toList());
+
+        Long nextAfter = items.isEmpty() || items.size() < limit ? null : items.get(items.size() - 1).getId();
+        return new Result<>(result, nextAfter);
+    }
+
+    // 상품명 자동완성
+    @GetMapping("/api/items/search")
+    public List<ItemDto> searchItems(@RequestParam("q") String q,
+                                     @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        return itemService.searchByName(q, Math.max(1, Math.min(limit, MAX_SEARCH_RESULTS))).stream()
+                .map(ItemDto::new)
+                .collect(toList());
+    }
+
+    @Data
+    @AllArgsConstructor
+    static class Result<T> {
+        private T data;
+        private Long nextAfter;
+    }
+
+    @Data
+    static class ItemDto {
+        private Long itemId;
+        private String name;
+        private int price;
+        private int stockQuantity;
+
+        public ItemDto(Item item) {
+            itemId = item.getId();
+            name = item.getName();
+            price = item.getPrice();
+            stockQuantity = item.getStockQuantity();
+        }
+    }
+}
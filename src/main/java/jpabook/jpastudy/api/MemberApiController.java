@@ -1,13 +1,23 @@
 package jpabook.jpastudy.api;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import jpabook.jpastudy.domain.Member;
-import jpabook.jpastudy.service.MemberService;
+import jpabook.jpastudy.service.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -16,6 +26,9 @@ import java.util.stream.Collectors;
 public class MemberApiController {
 
     private final MemberService memberService;
+    private final MemberImportService memberImportService;
+    private final ObjectMapper objectMapper;
+    private final ChangeVersions changeVersions;
 
     /**
      * 등록 V1:
@@ -46,6 +59,53 @@ public class MemberApiController {
         return new CreateMemberResponse(id);
     }
 
+    /**
+     * 일괄 등록:
+     * - 요청 본문(text/csv 또는 application/x-ndjson)을 한 줄씩 읽어 묶음 단위로 저장한다.
+     * - 거절된 줄과 묶음마다의 진행 상황을 NDJSON 으로 바로 응답에 쓴다. 마지막 줄이 최종 결과다.
+     */
+    @PostMapping(value = "/api/v2/members/import", produces = "application/x-ndjson")
+    public void importMembersV2(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        MemberImportFormat format = MemberImportFormat.fromContentType(request.getContentType());
+        response.setContentType("application/x-ndjson");
+        response.setCharacterEncoding("UTF-8");
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8));
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream())) {
+            generator.setRootValueSeparator(null); // 줄 구분은 writeLine 이 한다
+            MemberImportProgress result = memberImportService.importMembers(reader, format, new MemberImportListener() {
+                @Override
+                public void rejected(MemberImportReject reject) {
+                    writeLine(generator, "reject", reject);
+                }
+
+                @Override
+                public void progress(MemberImportProgress progress) {
+                    writeLine(generator, "progress", progress);
+                    try {
+                        generator.flush();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+            });
+            writeLine(generator, "done", result);
+        }
+    }
+
+    // {"type": ..., "data": {...}} 한 줄
+    private static void writeLine(JsonGenerator generator, String type, Object data) {
+        try {
+            generator.writeStartObject();
+            generator.writeStringField("type", type);
+            generator.writeObjectField("data", data);
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     @PostMapping("/api/v2/members/{memberId}")
     public UpdateMemberResponse updateMemberV2(
             @PathVariable Long memberId,
@@ -76,9 +136,13 @@ public class MemberApiController {
     /**
      * 조회 V2:
      * - 응답 값으로 엔티티가 아닌 별도의 DTO 를 반환한다.
+     * - 회원 변경 버전으로 ETag 를 만들어서, 바뀐 것이 없으면 DB 조회 없이 304 를 응답한다.
      */
     @GetMapping("/api/v2/members")
-    public Result getMemberV2() {
+    public Result getMemberV2(WebRequest request) {
+        if (request.checkNotModified(changeVersions.etag(ChangeVersions.Aggregate.MEMBER))) {
+            return null;
+        }
         List<Member> findMembers = memberService.findMembers();
         List<MemberDto> collect = findMembers.stream()
                 .map(m -> new MemberDto(m.getName()))
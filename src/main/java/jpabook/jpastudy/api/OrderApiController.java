@@ -1,32 +1,59 @@
 package jpabook.jpastudy.api;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
 import jpabook.jpastudy.domain.Address;
 import jpabook.jpastudy.domain.Order;
 import jpabook.jpastudy.domain.OrderItem;
 import jpabook.jpastudy.domain.OrderStatus;
+import jpabook.jpastudy.repository.order.OrderCursor;
+import jpabook.jpastudy.repository.order.OrderFetchPlan;
 import jpabook.jpastudy.repository.order.OrderRepository;
 import jpabook.jpastudy.repository.order.OrderSearch;
+import jpabook.jpastudy.repository.order.query.OrderFlatAssembler;
 import jpabook.jpastudy.repository.order.query.OrderFlatDto;
-import jpabook.jpastudy.repository.order.query.OrderItemQueryDto;
 import jpabook.jpastudy.repository.order.query.OrderQueryDto;
 import jpabook.jpastudy.repository.order.query.OrderQueryRepository;
+import jpabook.jpastudy.service.ChangeVersions;
+import jpabook.jpastudy.service.OrderBatchService;
+import jpabook.jpastudy.service.OrderLine;
+import jpabook.jpastudy.service.OrderPlacement;
+import jpabook.jpastudy.service.OrderService;
+import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDateTime;
 import java.util.List;
 
-import static java.util.stream.Collectors.*;
+import static java.util.stream.Collectors.toList;
 
 @RestController
 @RequiredArgsConstructor
 public class OrderApiController {
 
+    private static final int PARALLEL_ASSEMBLE_ROWS = 50_000;
+    private static final int MAX_PAGE_SIZE = 1000;
+
     private final OrderRepository orderRepository;
     private final OrderQueryRepository orderQueryRepository;
+    private final ObjectMapper objectMapper;
+    private final OrderBatchService orderBatchService;
+    private final ChangeVersions changeVersions;
+    private final OrderService orderService;
 
     // v1: 엔티티를 조회해서 그대로 반환
     @GetMapping("/api/v1/orders")
@@ -55,9 +82,13 @@ public class OrderApiController {
         return result;
     }
 
-    // v3: 페치 조인으로 쿼리 수 최적화
+    // v3: 페치 조인으로 쿼리 수 최적화 (주문, 회원, 상품 변경 버전의 ETag 가 같으면 DB 조회 없이 304)
     @GetMapping("/api/v3/orders")
-    public List<OrderDto> getOrdersV3() {
+    public List<OrderDto> getOrdersV3(WebRequest request) {
+        if (request.checkNotModified(changeVersions.etag(
+                ChangeVersions.Aggregate.ORDER, ChangeVersions.Aggregate.MEMBER, ChangeVersions.Aggregate.ITEM))) {
+            return null;
+        }
         List<Order> orders = orderRepository.fineAllWithItem();
         List<OrderDto> result = orders.stream()
                 .map(o -> new OrderDto(o))
@@ -79,6 +110,64 @@ public class OrderApiController {
         return result;
     }
 
+    // v3.2: 커서(keyset) 페이징 - 페이지 깊이와 상관없이 일정한 비용, 컬렉션은 배치 페치로 조회
+    @GetMapping("/api/v3.2/orders")
+    public CursorResult<List<OrderDto>> getOrdersV3_cursor(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", defaultValue = "100") int limit) {
+        limit = pageSize(limit);
+        List<Order> orders = orderRepository.findAllWithMemberDeliveryAfter(OrderCursor.decode(cursor), limit);
+        List<OrderDto> result = orders.stream()
+                .map(o -> new OrderDto(o))
+                .collect(toList());
+
+        // 가져온 건수가 limit 보다 적으면 마지막 페이지
+        String nextCursor = orders.isEmpty() || orders.size() < limit ? null : OrderCursor.encode(orders.get(orders.size() - 1).getId());
+        return new CursorResult<>(result, nextCursor);
+    }
+
+    // v3.3: 클라이언트가 고른 연관관계만 조회(expand=member,delivery,items.item) - toOne 은 엔티티 그래프, toMany 는 IN 쿼리
+    @GetMapping("/api/v3.3/orders")
+    public CursorResult<List<OrderPlanDto>> getOrdersV3_expand(
+            @RequestParam(value = "expand", required = false) String expand,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", defaultValue = "100") int limit) {
+        limit = pageSize(limit);
+        OrderFetchPlan plan = OrderFetchPlan.parse(expand);
+        List<Order> orders = orderRepository.findAll(plan, OrderCursor.decode(cursor), limit);
+        List<OrderPlanDto> result = orders.stream()
+                .map(o -> new OrderPlanDto(o, plan))
+                .collect(toList());
+
+        String nextCursor = orders.isEmpty() || orders.size() < limit ? null : OrderCursor.encode(orders.get(orders.size() - 1).getId());
+        return new CursorResult<>(result, nextCursor);
+    }
+
+    // v3.4: 조건 검색(상태, 주문일, 회원 이름 같음/앞부분, 금액) + (주문일, id) 커서 페이징
+    @GetMapping("/api/v3.4/orders")
+    public CursorResult<List<OrderDto>> searchOrdersV3(
+            @ModelAttribute OrderSearch orderSearch,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", defaultValue = "100") int limit) {
+        limit = pageSize(limit);
+        List<Order> orders = orderService.searchOrders(orderSearch, cursor, limit);
+        List<OrderDto> result = orders.stream()
+                .map(o -> new OrderDto(o))
+                .collect(toList());
+
+        String nextCursor = null;
+        if (!orders.isEmpty() && orders.size() >= limit) {
+            Order last = orders.get(orders.size() - 1);
+            nextCursor = OrderCursor.encode(last.getOrderDate(), last.getId());
+        }
+        return new CursorResult<>(result, nextCursor);
+    }
+
+    // 한 페이지 크기는 1 ~ MAX_PAGE_SIZE
+    private static int pageSize(int limit) {
+        return Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+    }
+
     // v4. JPA 에서 DTO 직접 조회
     @GetMapping("/api/v4/orders")
     public List<OrderQueryDto> getOrdersV4() {
@@ -91,17 +180,76 @@ public class OrderApiController {
         return orderQueryRepository.findAllByDto_optimization();
     }
 
+    // v5.1. JPA 에서 DTO 직접 조회 - 루트와 컬렉션 쿼리를 동시에 실행
+    @GetMapping("/api/v5.1/orders")
+    public List<OrderQueryDto> getOrdersV5_fanOut() {
+        return orderQueryRepository.findAllByDto_fanOut();
+    }
+
+    // v5.2. v5 와 같은 JSON 을 DTO 없이 조회 행에서 응답 스트림으로 바로 쓴다(v4 도 같은 JSON)
+    @GetMapping(value = "/api/v5.2/orders", produces = MediaType.APPLICATION_JSON_VALUE)
+    public void getOrdersV5_json(HttpServletResponse response) throws IOException {
+        // Jackson 엔드포인트와 같은 Content-Type(charset 없음), JsonGenerator 는 UTF-8 로 쓴다
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream())) {
+            orderQueryRepository.writeAllByDto_json(generator);
+        }
+    }
+
     // v6. JPA 에서 DTO 직접 조회 - 플랫 데이터 최적화
     @GetMapping("/api/v6/orders")
     public List<OrderQueryDto> getOrdersV6() {
         List<OrderFlatDto> flats = orderQueryRepository.findAllByDto_flat();
 
-        return flats.stream()
-                .collect(groupingBy(o -> new OrderQueryDto(o.getOrderId(), o.getName(), o.getOrderDate(), o.getOrderStatus(), o.getAddress()),
-                        mapping(o -> new OrderItemQueryDto(o.getOrderId(), o.getItemName(), o.getOrderPrice(), o.getCount()), toList())))
-                .entrySet().stream()
-                .map(e -> new OrderQueryDto(e.getKey().getOrderId(), e.getKey().getName(), e.getKey().getOrderDate(), e.getKey().getOrderStatus(), e.getKey().getAddress(), e.getValue()))
+        // order_id 순으로 정렬된 행을 한 번에 훑어서 조립(행마다 키 객체를 만들지 않음)
+        if (flats.size() > PARALLEL_ASSEMBLE_ROWS) {
+            return OrderFlatAssembler.assembleParallel(flats, PARALLEL_ASSEMBLE_ROWS);
+        }
+        return OrderFlatAssembler.assemble(flats);
+    }
+
+    // v6.1: 플랫 데이터 스트리밍 - 주문 단위로 조립하면서 NDJSON 으로 바로 응답에 쓴다(전체 결과를 메모리에 올리지 않음)
+    @GetMapping(value = "/api/v6/orders/stream", produces = "application/x-ndjson")
+    public void streamOrdersV6(HttpServletResponse response) throws IOException {
+        response.setContentType("application/x-ndjson");
+        response.setCharacterEncoding("UTF-8");
+
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream())) {
+            generator.setRootValueSeparator(new SerializedString("\n"));
+            orderQueryRepository.streamAllByDto_flat(o -> {
+                try {
+                    generator.writeObject(o);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            generator.writeRaw('\n');
+        }
+    }
+
+    // 일괄 주문: 실패한 건은 사유와 함께 돌려주고 나머지는 저장한다
+    @PostMapping("/api/v1/orders/batch")
+    public BatchOrderResponse batchOrder(@RequestBody List<OrderLine> lines) {
+        List<OrderPlacement> placements = orderBatchService.orderAll(lines);
+        List<OrderPlacement> failures = placements.stream()
+                .filter(p -> !p.isSuccess())
                 .collect(toList());
+
+        return new BatchOrderResponse(placements.size() - failures.size(), failures);
+    }
+
+    @Data
+    @AllArgsConstructor
+    static class CursorResult<T> {
+        private T data;
+        private String nextCursor;
+    }
+
+    @Data
+    @AllArgsConstructor
+    static class BatchOrderResponse {
+        private int successCount;
+        private List<OrderPlacement> failures;
     }
 
     @Data
@@ -125,6 +273,53 @@ public class OrderApiController {
         }
     }
 
+    // expand 하지 않은 연관관계는 읽지 않고 응답에서도 빠진다
+    @Data
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    static class OrderPlanDto {
+        private Long orderId;
+        private LocalDateTime orderDate;
+        private OrderStatus orderStatus;
+        private int totalPrice;
+        private String name;
+        private Address address;
+        private List<OrderPlanItemDto> orderItems;
+
+        public OrderPlanDto(Order order, OrderFetchPlan plan) {
+            orderId = order.getId();
+            orderDate = order.getOrderDate();
+            orderStatus = order.getStatus();
+            totalPrice = order.getTotalPrice();
+            if (plan.member()) {
+                name = order.getMember().getName();
+            }
+            if (plan.delivery()) {
+                address = order.getDelivery().getAddress();
+            }
+            if (plan.items()) {
+                orderItems = order.getOrderItems().stream()
+                        .map(oi -> new OrderPlanItemDto(oi, plan))
+                        .collect(toList());
+            }
+        }
+    }
+
+    @Data
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    static class OrderPlanItemDto {
+        private int orderPrice;
+        private int count;
+        private String itemName;
+
+        public OrderPlanItemDto(OrderItem orderItem, OrderFetchPlan plan) {
+            orderPrice = orderItem.getOrderPrice();
+            count = orderItem.getCount();
+            if (plan.itemsItem()) {
+                itemName = orderItem.getItem().getName();
+            }
+        }
+    }
+
     @Data
     static class OrderItemDto {
 
@@ -1,18 +1,26 @@
 package jpabook.jpastudy.api;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
 import jpabook.jpastudy.domain.Address;
 import jpabook.jpastudy.domain.Order;
 import jpabook.jpastudy.domain.OrderStatus;
 import jpabook.jpastudy.repository.order.OrderRepository;
 import jpabook.jpastudy.repository.order.OrderSearch;
+import jpabook.jpastudy.repository.order.simplequery.OrderSimpleQueryCache;
 import jpabook.jpastudy.repository.order.simplequery.OrderSimpleQueryDto;
 import jpabook.jpastudy.repository.order.simplequery.OrderSimpleQueryRepository;
+import jpabook.jpastudy.service.ChangeVersions;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -23,7 +31,10 @@ import static java.util.stream.Collectors.toList;
 public class OrderSimpleApiController {
 
     private final OrderRepository orderRepository;
+    private final OrderSimpleQueryCache orderSimpleQueryCache;
     private final OrderSimpleQueryRepository orderSimpleQueryRepository;
+    private final ObjectMapper objectMapper;
+    private final ChangeVersions changeVersions;
 
     // v1: 엔티티 직접 노출 -> Hibernate5Module 등록 필요
     @GetMapping("/api/v1/simple-orders")
@@ -59,10 +70,24 @@ public class OrderSimpleApiController {
         return result;
     }
 
-    // v4: JPA 에서 DTO 로 바로 조회
+    // v4: JPA 에서 DTO 로 바로 조회 (주문, 회원 변경 시 커밋 이후 무효화되는 캐시 사용)
+    // 주문, 회원 변경 버전의 ETag 가 같으면 캐시도 보지 않고 304
     @GetMapping("/api/v4/simple-orders")
-    public List<OrderSimpleQueryDto> getOrdersV4() {
-        return orderSimpleQueryRepository.findOrderDtos();
+    public List<OrderSimpleQueryDto> getOrdersV4(WebRequest request) {
+        if (request.checkNotModified(changeVersions.etag(ChangeVersions.Aggregate.ORDER, ChangeVersions.Aggregate.MEMBER))) {
+            return null;
+        }
+        return orderSimpleQueryCache.findOrderDtos();
+    }
+
+    // v4.1: 조회 행을 DTO 없이 응답 스트림에 바로 JSON 으로 쓴다 (v4 와 같은 JSON, 캐시를 거치지 않음)
+    @GetMapping(value = "/api/v4.1/simple-orders", produces = MediaType.APPLICATION_JSON_VALUE)
+    public void getOrdersV4_json(HttpServletResponse response) throws IOException {
+        // Jackson 엔드포인트와 같은 Content-Type(charset 없음), JsonGenerator 는 UTF-8 로 쓴다
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream())) {
+            orderSimpleQueryRepository.writeOrderDtos(generator);
+        }
     }
 
     @Data
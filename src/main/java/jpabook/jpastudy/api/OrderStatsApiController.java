@@ -0,0 +1,51 @@
+package jpabook.jpastudy.api;
+
+import jpabook.jpastudy.domain.OrderStatus;
+import jpabook.jpastudy.repository.order.stats.DailyRevenueDto;
+import jpabook.jpastudy.repository.order.stats.MemberRevenueDto;
+import jpabook.jpastudy.repository.order.stats.OrderStatsRepository;
+import jpabook.jpastudy.repository.order.stats.OrderStatusStatsDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 주문 집계 API: DB 에서 GROUP BY 로 계산한 숫자만 돌려준다.
+ */
+@RestController
+@RequiredArgsConstructor
+public class OrderStatsApiController {
+
+    private static final int MAX_MEMBERS = 1000;
+    private static final int DEFAULT_DAYS = 30;
+
+    private final OrderStatsRepository orderStatsRepository;
+
+    @GetMapping("/api/v1/orders/stats/status")
+    public List<OrderStatusStatsDto> statsByStatus() {
+        return orderStatsRepository.findByStatus();
+    }
+
+    @GetMapping("/api/v1/orders/stats/members")
+    public List<MemberRevenueDto> statsByMember(
+            @RequestParam(value = "status", defaultValue = "ORDER") OrderStatus status,
+            @RequestParam(value = "limit", defaultValue = "20") int limit) {
+        return orderStatsRepository.findTopMembers(status, Math.max(1, Math.min(limit, MAX_MEMBERS)));
+    }
+
+    // 기간을 주지 않으면 오늘까지 최근 30일
+    @GetMapping("/api/v1/orders/stats/daily")
+    public List<DailyRevenueDto> statsByDay(
+            @RequestParam(value = "status", defaultValue = "ORDER") OrderStatus status,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(DEFAULT_DAYS - 1);
+        return orderStatsRepository.findDaily(status, start, end);
+    }
+}
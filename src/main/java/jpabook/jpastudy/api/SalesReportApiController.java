@@ -0,0 +1,55 @@
+package jpabook.jpastudy.api;
+
+import jpabook.jpastudy.analytics.CategorySales;
+import jpabook.jpastudy.analytics.DailySales;
+import jpabook.jpastudy.analytics.ItemSales;
+import jpabook.jpastudy.analytics.SalesAnalytics;
+import jpabook.jpastudy.analytics.SalesFilter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 매출 리포트 API: 메모리의 SalesAnalytics 로만 집계한다(주문 DB 를 조회하지 않음).
+ */
+@RestController
+@RequiredArgsConstructor
+public class SalesReportApiController {
+
+    private static final int MAX_ITEMS = 1000;
+    private static final int DEFAULT_DAYS = 30;
+
+    private final SalesAnalytics salesAnalytics;
+
+    @GetMapping("/api/v1/reports/sales/items")
+    public List<ItemSales> salesByItem(
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(value = "categoryId", required = false) Long categoryId,
+            @RequestParam(value = "limit", defaultValue = "100") int limit) {
+        return salesAnalytics.salesByItem(new SalesFilter(from, to, categoryId), Math.max(1, Math.min(limit, MAX_ITEMS)));
+    }
+
+    @GetMapping("/api/v1/reports/sales/categories")
+    public List<CategorySales> salesByCategory(
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return salesAnalytics.salesByCategory(new SalesFilter(from, to, null));
+    }
+
+    // 기간을 주지 않으면 오늘까지 최근 30일
+    @GetMapping("/api/v1/reports/sales/daily")
+    public List<DailySales> salesByDay(
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(value = "categoryId", required = false) Long categoryId) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(DEFAULT_DAYS - 1);
+        return salesAnalytics.salesByDay(new SalesFilter(start, end, categoryId));
+    }
+}
@@ -1,10 +1,12 @@
 package jpabook.jpastudy.domain;
 
 import jakarta.persistence.Embeddable;
+import lombok.EqualsAndHashCode;
 import lombok.Getter;
 
 @Embeddable
 @Getter
+@EqualsAndHashCode
 public class Address {
 
     private String city;
@@ -4,15 +4,21 @@ import jakarta.persistence.*;
 import jpabook.jpastudy.domain.item.Item;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "category")
 @Getter @Setter
 public class Category {
 
-    @Id @GeneratedValue
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "category_seq")
+    @SequenceGenerator(name = "category_seq", sequenceName = "category_seq", allocationSize = IdAllocation.CATEGORY)
     @Column(name = "category_id")
     private Long id;
 
@@ -21,7 +27,11 @@ public class Category {
     @ManyToMany
     @JoinTable(name = "category_item",
     joinColumns = @JoinColumn(name = "category_id"),
-    inverseJoinColumns = @JoinColumn(name = "item_id"))
+    inverseJoinColumns = @JoinColumn(name = "item_id"),
+    indexes = {
+            @Index(name = "idx_category_item_category", columnList = "category_id, item_id"),
+            @Index(name = "idx_category_item_item", columnList = "item_id")
+    })
     private List<Item> items = new ArrayList<>();
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -7,7 +7,9 @@ import lombok.Setter;@Entity
 @Getter @Setter
 public class Delivery {
 
-    @Id @GeneratedValue
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "delivery_seq")
+    @SequenceGenerator(name = "delivery_seq", sequenceName = "delivery_seq", allocationSize = IdAllocation.DELIVERY)
     @Column(name = "delivery_id")
     private Long id;
 
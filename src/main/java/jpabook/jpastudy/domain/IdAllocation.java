@@ -0,0 +1,20 @@
+package jpabook.jpastudy.domain;
+
+/**
+ * 엔티티별 시퀀스 할당 크기(allocationSize).
+ * - 시퀀스를 한 번 호출할 때마다 이 크기만큼 id 블록을 예약하고, 블록 안에서는 DB 를 다시 호출하지 않는다.
+ * - DB 시퀀스의 INCREMENT BY 와 반드시 같아야 한다. 여러 서버가 같은 시퀀스를 써도 블록이 겹치지 않는다.
+ * - 삽입이 많은 엔티티일수록 크게 잡는다.
+ */
+public final class IdAllocation {
+
+    public static final int ORDER = 100;
+    public static final int ORDER_ITEM = 100;
+    public static final int DELIVERY = 100;
+    public static final int MEMBER = 50;
+    public static final int ITEM = 50;
+    public static final int CATEGORY = 10;
+
+    private IdAllocation() {
+    }
+}
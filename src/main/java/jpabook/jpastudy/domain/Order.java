@@ -8,16 +8,20 @@ import lombok.Setter;
 import org.hibernate.annotations.BatchSize;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = @Index(name = "idx_orders_status_order_date", columnList = "status, order_date"))
 @Getter @Setter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class Order {
 
-    @Id @GeneratedValue
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq")
+    @SequenceGenerator(name = "orders_seq", sequenceName = "orders_seq", allocationSize = IdAllocation.ORDER)
     @Column(name = "order_id")
     private Long id;
 
@@ -32,11 +36,16 @@ public class Order {
     @OneToOne(cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private Delivery delivery;
 
+    @Column(name = "order_date")
     private LocalDateTime orderDate;
 
     @Enumerated(EnumType.STRING)
     private OrderStatus status;
 
+    // 전체 주문 가격(주문상품 가격 * 수량의 합). 집계 쿼리가 order_item 을 읽지 않도록 주문상품을 추가할 때 함께 갱신한다.
+    @Setter(AccessLevel.NONE)
+    private int totalPrice;
+
     // == 연관관계 메서드 == //
     public void setMember(Member member) {
         this.member = member;
@@ -46,6 +55,7 @@ public class Order {
     public void addOrderItem(OrderItem orderItem) {
         orderItems.add(orderItem);
         orderItem.setOrder(this);
+        totalPrice += orderItem.getTotalPrice();
     }
 
     public void setDelivery(Delivery delivery) {
@@ -62,28 +72,22 @@ public class Order {
             order.addOrderItem(orderItem);
         }
         order.setStatus(OrderStatus.ORDER);
-        order.setOrderDate(LocalDateTime.now());
+        // DB 정밀도(마이크로초)에 맞춘다: 영속 엔티티로 만든 커서가 저장된 값과 같아야 한다
+        order.setOrderDate(LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
         return order;
     }
 
     // == 비즈니스 로직 == //
-    // 주문 취소
-    public void cancel() {
+    // 주문 취소(재고 복구 방법을 지정: 재고 원장 또는 조건부 UPDATE)
+    // totalPrice 는 그대로 두고 상태로 구분한다(취소된 금액도 상태별 집계에 나온다)
+    public void cancel(Consumer<OrderItem> restoreStock) {
         if (delivery.getStatus() == DeliveryStatus.COMP) {
             throw new IllegalStateException("이미 배송 완료된 상품은 취소가 불가능 합니다.");
         }
 
         this.setStatus(OrderStatus.CANCEL);
         for (OrderItem orderItem : orderItems) {
-            orderItem.cancel();
+            restoreStock.accept(orderItem);
         }
     }
-
-    // == 조회 로직 == //
-    // 전체 주문 가격 조회
-    public int getTotalPrice() {
-        return orderItems.stream()
-                .mapToInt(OrderItem::getTotalPrice)
-                .sum();
-    }
 }
@@ -16,7 +16,9 @@ import org.hibernate.annotations.BatchSize;
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class OrderItem {
 
-    @Id @GeneratedValue
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_item_seq")
+    @SequenceGenerator(name = "order_item_seq", sequenceName = "order_item_seq", allocationSize = IdAllocation.ORDER_ITEM)
     @Column(name = "order_item_id")
     private Long id;
 
@@ -42,10 +44,13 @@ public class OrderItem {
         return orderItem;
     }
 
-    // == 비즈니스 로직 == //
-    // 주문 취소
-    public void cancel() {
-        getItem().addStock(count);
+    // 재고를 이미 차감(ItemRepository.decreaseStock)한 경우
+    public static OrderItem createReservedOrderItem(Item item, int orderPrice, int count) {
+        OrderItem orderItem = new OrderItem();
+        orderItem.setItem(item);
+        orderItem.setOrderPrice(orderPrice);
+        orderItem.setCount(count);
+        return orderItem;
     }
 
     // == 조회 로직 == //
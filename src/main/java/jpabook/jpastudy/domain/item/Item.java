@@ -2,21 +2,32 @@ package jpabook.jpastudy.domain.item;
 
 import jakarta.persistence.*;
 import jpabook.jpastudy.domain.Category;
+import jpabook.jpastudy.domain.IdAllocation;
 import jpabook.jpastudy.exception.NotEnoughStockException;
 import lombok.Getter;
 import lombok.Setter;
 import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_item_dtype_id", columnList = "dtype, item_id"),
+        @Index(name = "idx_item_name", columnList = "name")
+})
 @Inheritance(strategy = InheritanceType.SINGLE_TABLE)
 @DiscriminatorColumn(name = "dtype")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "item")
 @Getter @Setter
 public abstract class Item {
 
-    @Id @GeneratedValue
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "item_seq")
+    @SequenceGenerator(name = "item_seq", sequenceName = "item_seq", allocationSize = IdAllocation.ITEM)
     @Column(name = "item_id")
     private Long id;
 
@@ -0,0 +1,19 @@
+package jpabook.jpastudy.domain.item;
+
+import lombok.Getter;
+
+/**
+ * 상품 종류(조회 조건은 엔티티 클래스로 만들고, 하이버네이트가 dtype 구분 값으로 바꾼다)
+ */
+@Getter
+public enum ItemType {
+    BOOK(Book.class),
+    ALBUM(Album.class),
+    MOVIE(Movie.class);
+
+    private final Class<? extends Item> entityClass;
+
+    ItemType(Class<? extends Item> entityClass) {
+        this.entityClass = entityClass;
+    }
+}
@@ -0,0 +1,16 @@
+package jpabook.jpastudy.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+// 클라이언트가 보낸 페이징 커서를 해석할 수 없음(400)
+@ResponseStatus(value = HttpStatus.BAD_REQUEST, reason = "잘못된 커서입니다.")
+public class InvalidCursorException extends IllegalArgumentException {
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+
+    public InvalidCursorException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
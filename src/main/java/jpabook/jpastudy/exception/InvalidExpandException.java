@@ -0,0 +1,12 @@
+package jpabook.jpastudy.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+// 클라이언트가 보낸 expand 에 지원하지 않는 연관관계가 있음(400)
+@ResponseStatus(value = HttpStatus.BAD_REQUEST, reason = "지원하지 않는 expand 입니다.")
+public class InvalidExpandException extends IllegalArgumentException {
+    public InvalidExpandException(String message) {
+        super(message);
+    }
+}
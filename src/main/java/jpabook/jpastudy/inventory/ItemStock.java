@@ -0,0 +1,88 @@
+package jpabook.jpastudy.inventory;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 상품 하나의 예약 가능 재고.
+ * - 재고를 여러 칸(stripe)에 나눠 두고 스레드마다 다른 칸에서 CAS 로 차감한다. 인기 상품도 한 값을 두고 경합하지 않는다.
+ * - 어느 한 칸으로도 부족하면 잠금을 잡고 모든 칸을 모아서 다시 시도한다(드문 경로).
+ * - pending 은 커밋되었지만 아직 DB 에 반영되지 않은 재고 변화량이다.
+ * - 관리자가 재고를 바꾸면 객체를 새로 만든다(StockLedger.reset). 이전 객체는 더 이상 DB 에 반영되지 않는다.
+ */
+class ItemStock {
+
+    // 칸 사이를 벌려서 같은 캐시 라인을 공유하지 않게 한다
+    private static final int PAD = 16;
+
+    private final int stripes;
+    private final AtomicIntegerArray available;
+    private final AtomicLong pending = new AtomicLong();
+
+    ItemStock(int stripes, int stockQuantity) {
+        this.stripes = stripes;
+        this.available = new AtomicIntegerArray(stripes * PAD);
+        spread(stockQuantity);
+    }
+
+    boolean tryReserve(int quantity) {
+        int start = home();
+        for (int i = 0; i < stripes; i++) {
+            int index = ((start + i) % stripes) * PAD;
+            int current;
+            while ((current = available.get(index)) >= quantity) {
+                if (available.compareAndSet(index, current, current - quantity)) {
+                    return true;
+                }
+            }
+        }
+        return reserveSlow(quantity);
+    }
+
+    void add(int quantity) {
+        available.addAndGet(home() * PAD, quantity);
+    }
+
+    int total() {
+        int total = 0;
+        for (int i = 0; i < stripes; i++) {
+            total += available.get(i * PAD);
+        }
+        return total;
+    }
+
+    void addPending(long delta) {
+        pending.addAndGet(delta);
+    }
+
+    long takePending() {
+        return pending.getAndSet(0);
+    }
+
+    private synchronized boolean reserveSlow(int quantity) {
+        int drained = drain();
+        boolean reserved = drained >= quantity;
+        spread(reserved ? drained - quantity : drained);
+        return reserved;
+    }
+
+    private int drain() {
+        int drained = 0;
+        for (int i = 0; i < stripes; i++) {
+            drained += available.getAndSet(i * PAD, 0);
+        }
+        return drained;
+    }
+
+    private void spread(int amount) {
+        int share = amount / stripes;
+        int rest = amount % stripes;
+        for (int i = 0; i < stripes; i++) {
+            available.addAndGet(i * PAD, share + (i < rest ? 1 : 0));
+        }
+    }
+
+    private int home() {
+        return (int) (Thread.currentThread().threadId() % stripes);
+    }
+}
@@ -0,0 +1,213 @@
+package jpabook.jpastudy.inventory;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import jpabook.jpastudy.domain.item.Item;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 인메모리 재고 예약 원장(jpastudy.stock-ledger.enabled=true 일 때만 사용).
+ * - 주문 시 재고를 메모리에서 바로 승인/거절하고, DB 의 item 행은 건드리지 않는다.
+ * - 커밋된 변화량만 모아 두었다가 주기적으로 한 번에 UPDATE 한다. 롤백되면 예약한 재고를 되돌린다.
+ * - 시작할 때 DB 에서 재고를 읽어 상태를 다시 만든다. 이후에 추가된 상품은 처음 주문할 때 맵 밖에서 읽어 putIfAbsent 로 넣는다.
+ *   DB 에 없는 상품은 예약을 거절한다.
+ * - DB 와 엔티티의 재고는 최대 flush 주기만큼 늦게 반영된다.
+ * - 관리자가 재고를 직접 바꾸면 그 상품의 ItemStock 을 새로 만들어 바꿔 끼운다(세대 교체).
+ *   이전 세대에서 예약한 건의 커밋/롤백은 이전 객체에만 반영되고 DB 에는 쓰지 않는다. 바꿔 끼우기와 flush 는 같은 잠금을 쓴다.
+ *   잠금을 쥔 채 JDBC 를 기다리므로 synchronized 대신 ReentrantLock 을 쓴다(가상 스레드가 캐리어 스레드를 붙잡지 않도록).
+ * - 단일 노드 전용이다. 여러 인스턴스가 각자 원장을 가지면 서로의 예약을 모르므로 재고를 초과 판매할 수 있다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "jpastudy.stock-ledger.enabled", havingValue = "true")
+public class StockLedger {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate newTransactionTemplate;
+    private final EntityManagerFactory emf;
+    private final int stripes;
+
+    private final Map<Long, ItemStock> stocks = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    public StockLedger(JdbcTemplate jdbcTemplate,
+                       PlatformTransactionManager transactionManager,
+                       EntityManagerFactory emf,
+                       @Value("${jpastudy.stock-ledger.stripes:0}") int stripes) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // 커밋 후 콜백에서 쓰기: 끝난 트랜잭션에 참여하지 않도록 새 트랜잭션으로
+        this.newTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.newTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.emf = emf;
+        this.stripes = stripes > 0 ? stripes : Runtime.getRuntime().availableProcessors();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        jdbcTemplate.query("select item_id, stock_quantity from item",
+                rs -> {
+                    // 시작 전에 주문하면서 먼저 만들어진 항목(과 쌓인 변화량)은 그대로 둔다
+                    stocks.putIfAbsent(rs.getLong("item_id"), new ItemStock(stripes, rs.getInt("stock_quantity")));
+                });
+        log.info("재고 원장 적재: {} 개 상품", stocks.size());
+    }
+
+    /**
+     * 재고 예약. 트랜잭션 안이면 커밋 후에 DB 반영 대상이 되고, 롤백되면 예약이 취소된다.
+     * @return 재고가 부족하면 false
+     */
+    public boolean reserve(Long itemId, int quantity) {
+        ItemStock stock = stock(itemId);
+        if (stock == null || !stock.tryReserve(quantity)) {
+            return false;
+        }
+
+        afterTransaction(
+                () -> stock.addPending(-quantity),
+                () -> stock.add(quantity));
+        return true;
+    }
+
+    // 재고 복구(주문 취소): 커밋된 뒤에만 반영한다
+    public void release(Long itemId, int quantity) {
+        ItemStock stock = stock(itemId);
+        if (stock == null) {
+            throw new IllegalArgumentException("존재하지 않는 상품입니다. itemId=" + itemId);
+        }
+        afterTransaction(
+                () -> {
+                    stock.add(quantity);
+                    stock.addPending(quantity);
+                },
+                () -> {
+                });
+    }
+
+    /**
+     * 관리자가 재고 수량을 직접 수정한 경우: 커밋된 뒤 새 세대로 바꿔 끼운다.
+     * - 아직 반영하지 않은 변화량과 진행 중인 예약은 버린다(관리자가 입력한 값이 기준).
+     * - 커밋과 잠금 사이에 flush 가 이전 변화량을 더했을 수 있으므로 DB 에 수량을 다시 쓴다.
+     */
+    public void reset(Long itemId, int stockQuantity) {
+        afterTransaction(
+                () -> {
+                    flushLock.lock();
+                    try {
+                        stocks.put(itemId, new ItemStock(stripes, stockQuantity));
+                        newTransactionTemplate.executeWithoutResult(status ->
+                                jdbcTemplate.update("update item set stock_quantity = ? where item_id = ?", stockQuantity, itemId));
+                    } finally {
+                        flushLock.unlock();
+                    }
+                    emf.getCache().evict(Item.class, itemId);
+                },
+                () -> {
+                });
+    }
+
+    // 없는 상품이면 0
+    public int available(Long itemId) {
+        ItemStock stock = stock(itemId);
+        return stock == null ? 0 : stock.total();
+    }
+
+    @Scheduled(fixedDelayString = "${jpastudy.stock-ledger.flush-interval-ms:200}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            flushPending();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void flushPending() {
+        List<Object[]> batch = new ArrayList<>();
+        stocks.forEach((itemId, stock) -> {
+            long delta = stock.takePending();
+            if (delta != 0) {
+                batch.add(new Object[]{delta, itemId});
+            }
+        });
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    jdbcTemplate.batchUpdate("update item set stock_quantity = stock_quantity + ? where item_id = ?", batch));
+        } catch (DataAccessException e) {
+            // 반영하지 못한 변화량은 다음 주기에 다시 시도
+            for (Object[] row : batch) {
+                stocks.get((Long) row[1]).addPending((Long) row[0]);
+            }
+            log.warn("재고 원장 반영 실패, 다음 주기에 재시도: {} 건", batch.size(), e);
+            return;
+        }
+
+        Cache cache = emf.getCache();
+        for (Object[] row : batch) {
+            cache.evict(Item.class, row[1]);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    // 원장에 없으면 DB 에서 읽는다(맵 잠금 밖에서, 동시에 읽었으면 먼저 넣은 쪽을 쓴다). DB 에도 없으면 null
+    private ItemStock stock(Long itemId) {
+        ItemStock stock = stocks.get(itemId);
+        if (stock != null) {
+            return stock;
+        }
+        List<Integer> quantities = jdbcTemplate.queryForList("select stock_quantity from item where item_id = ?", Integer.class, itemId);
+        if (quantities.isEmpty()) {
+            return null;
+        }
+        ItemStock loaded = new ItemStock(stripes, quantities.get(0));
+        ItemStock existing = stocks.putIfAbsent(itemId, loaded);
+        return existing != null ? existing : loaded;
+    }
+
+    private void afterTransaction(Runnable onCommit, Runnable onRollback) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            onCommit.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    onCommit.run();
+                } else {
+                    onRollback.run();
+                }
+            }
+        });
+    }
+}
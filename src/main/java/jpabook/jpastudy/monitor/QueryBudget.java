@@ -0,0 +1,27 @@
+package jpabook.jpastudy.monitor;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 요청당 쿼리 예산.
+ * - 전체 쿼리 수가 maxStatements 를 넘거나, 같은 모양의 쿼리가 maxRepeats 를 넘게 반복되면 초과로 본다.
+ */
+@Component
+@Getter
+public class QueryBudget {
+
+    private final int maxStatements;
+    private final int maxRepeats;
+
+    public QueryBudget(@Value("${jpastudy.query-budget.max-statements:10}") int maxStatements,
+                       @Value("${jpastudy.query-budget.max-repeats:3}") int maxRepeats) {
+        this.maxStatements = maxStatements;
+        this.maxRepeats = maxRepeats;
+    }
+
+    public boolean isExceeded(QueryCounter counter) {
+        return counter.getCount() > maxStatements || counter.getMaxRepeat() > maxRepeats;
+    }
+}
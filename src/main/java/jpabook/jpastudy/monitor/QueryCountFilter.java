@@ -0,0 +1,42 @@
+package jpabook.jpastudy.monitor;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * 요청 단위로 QueryCounter 를 시작하고, 끝나면 예산 초과(N + 1 의심) 요청을 로그로 남긴다.
+ * - 응답 본문이 있는 경우 헤더는 QueryCountResponseAdvice 에서 본문을 쓰기 직전에 넣는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    private final QueryBudget queryBudget;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        QueryCounter.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            QueryCounter counter = QueryCounter.stop();
+            if (!response.isCommitted()) {
+                QueryCountHeaders.write(response, counter, queryBudget);
+            }
+            if (queryBudget.isExceeded(counter)) {
+                log.warn("쿼리 예산 초과 {} {}: count={}, maxRepeat={}, repeated={}",
+                        request.getMethod(), request.getRequestURI(), counter.getCount(), counter.getMaxRepeat(), counter.getRepeatedShapes());
+            }
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package jpabook.jpastudy.monitor;
+
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * 쿼리 수 응답 헤더.
+ */
+public final class QueryCountHeaders {
+
+    public static final String QUERY_COUNT = "X-Query-Count";
+    public static final String QUERY_MAX_REPEAT = "X-Query-Max-Repeat";
+    public static final String QUERY_BUDGET_EXCEEDED = "X-Query-Budget-Exceeded";
+
+    private QueryCountHeaders() {
+    }
+
+    static void write(HttpServletResponse response, QueryCounter counter, QueryBudget budget) {
+        response.setHeader(QUERY_COUNT, String.valueOf(counter.getCount()));
+        response.setHeader(QUERY_MAX_REPEAT, String.valueOf(counter.getMaxRepeat()));
+        if (budget.isExceeded(counter)) {
+            response.setHeader(QUERY_BUDGET_EXCEEDED, "true");
+        }
+    }
+}
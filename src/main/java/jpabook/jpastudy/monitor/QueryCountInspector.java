@@ -0,0 +1,15 @@
+package jpabook.jpastudy.monitor;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * 하이버네이트가 JDBC 로 보내는 모든 SQL 을 QueryCounter 에 기록한다.
+ */
+public class QueryCountInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        QueryCounter.record(sql);
+        return sql;
+    }
+}
@@ -0,0 +1,84 @@
+package jpabook.jpastudy.monitor;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 현재 스레드(요청)에서 실행된 SQL 을 센다.
+ * - SQL 은 파라미터가 ? 로 바인딩된 형태이므로 같은 문자열 = 같은 쿼리 모양이다.
+ * - 같은 모양이 여러 번 실행되면 N + 1 을 의심할 수 있다.
+ * - 테스트에서도 start() / stop() 으로 감싸서 쿼리 수를 검증할 수 있다.
+ * - 요청을 대신해 다른 스레드에서 쿼리를 실행하면 attach() 로 같은 카운터에 기록한다.
+ */
+public final class QueryCounter {
+
+    private static final ThreadLocal<QueryCounter> CURRENT = new ThreadLocal<>();
+
+    private final Map<String, Integer> shapes = new ConcurrentHashMap<>();
+    private final AtomicInteger count = new AtomicInteger();
+
+    private QueryCounter() {
+    }
+
+    public static QueryCounter start() {
+        QueryCounter counter = new QueryCounter();
+        CURRENT.set(counter);
+        return counter;
+    }
+
+    // 현재 스레드에 카운터가 없으면 null
+    public static QueryCounter current() {
+        return CURRENT.get();
+    }
+
+    // 다른 스레드의 카운터를 현재 스레드에 연결한다. 작업이 끝나면 detach() 를 호출해야 한다.
+    public static void attach(QueryCounter counter) {
+        if (counter != null) {
+            CURRENT.set(counter);
+        }
+    }
+
+    public static void detach() {
+        CURRENT.remove();
+    }
+
+    public static QueryCounter stop() {
+        QueryCounter counter = CURRENT.get();
+        CURRENT.remove();
+        return counter;
+    }
+
+    static void record(String sql) {
+        QueryCounter counter = CURRENT.get();
+        if (counter != null) {
+            counter.count.incrementAndGet();
+            counter.shapes.merge(sql, 1, Integer::sum);
+        }
+    }
+
+    public int getCount() {
+        return count.get();
+    }
+
+    // 가장 많이 반복된 쿼리 모양의 실행 횟수
+    public int getMaxRepeat() {
+        int max = 0;
+        for (int repeat : shapes.values()) {
+            max = Math.max(max, repeat);
+        }
+        return max;
+    }
+
+    // 2번 이상 실행된 쿼리 모양과 실행 횟수
+    public Map<String, Integer> getRepeatedShapes() {
+        Map<String, Integer> repeated = new LinkedHashMap<>();
+        shapes.forEach((sql, repeat) -> {
+            if (repeat > 1) {
+                repeated.put(sql, repeat);
+            }
+        });
+        return repeated;
+    }
+}
@@ -0,0 +1,90 @@
+package jpabook.jpastudy.repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+/**
+ * IN 절 조회를 고정 크기 묶음으로 나눠서 실행한다.
+ * - DB 파라미터 개수 제한을 넘지 않도록 chunkSize 단위로 자른다.
+ * - 묶음 크기를 2의 거듭제곱으로 맞춰(마지막 값 반복) SQL 모양의 가짓수를 줄인다. 문장 캐시 적중률이 올라간다.
+ */
+public class InListLoader {
+
+    public static final int DEFAULT_CHUNK_SIZE = 512;
+
+    private static final InListLoader DEFAULT = new InListLoader(DEFAULT_CHUNK_SIZE);
+
+    private final int chunkSize;
+
+    public InListLoader(int chunkSize) {
+        if (chunkSize <= 0 || Integer.bitCount(chunkSize) != 1) {
+            throw new IllegalArgumentException("chunkSize 는 2의 거듭제곱이어야 합니다.");
+        }
+        this.chunkSize = chunkSize;
+    }
+
+    public static InListLoader defaults() {
+        return DEFAULT;
+    }
+
+    // 묶음을 순서대로 하나씩 조회한다
+    public <ID, R> List<R> load(Collection<ID> ids, Function<List<ID>, List<R>> query) {
+        List<R> result = new ArrayList<>();
+        for (List<ID> chunk : chunks(ids)) {
+            result.addAll(query.apply(chunk));
+        }
+        return result;
+    }
+
+    /**
+     * 묶음을 동시에 조회한다.
+     * - query 는 스레드마다 별도의 EntityManager(커넥션)를 사용해야 한다. 공유 EntityManager 는 스레드 안전하지 않다.
+     * - 결과는 묶음 순서대로 이어 붙인다.
+     */
+    public <ID, R> List<R> loadConcurrently(Collection<ID> ids, Function<List<ID>, List<R>> query, Executor executor) {
+        List<List<ID>> chunks = chunks(ids);
+        if (chunks.size() <= 1) {
+            return load(ids, query);
+        }
+
+        List<CompletableFuture<List<R>>> futures = new ArrayList<>(chunks.size());
+        for (List<ID> chunk : chunks) {
+            futures.add(CompletableFuture.supplyAsync(() -> query.apply(chunk), executor));
+        }
+
+        List<R> result = new ArrayList<>();
+        for (CompletableFuture<List<R>> future : futures) {
+            result.addAll(future.join());
+        }
+        return result;
+    }
+
+    public <ID> List<List<ID>> chunks(Collection<ID> ids) {
+        List<ID> distinct = new ArrayList<>(new LinkedHashSet<>(ids));
+        List<List<ID>> chunks = new ArrayList<>();
+        for (int from = 0; from < distinct.size(); from += chunkSize) {
+            int to = Math.min(from + chunkSize, distinct.size());
+            chunks.add(pad(distinct.subList(from, to)));
+        }
+        return chunks;
+    }
+
+    // 다음 2의 거듭제곱 크기까지 마지막 값을 반복해서 채운다
+    static <ID> List<ID> pad(List<ID> chunk) {
+        int size = chunk.size();
+        int padded = Integer.highestOneBit(size) == size ? size : Integer.highestOneBit(size) << 1;
+
+        List<ID> result = new ArrayList<>(padded);
+        result.addAll(chunk);
+        ID last = chunk.get(size - 1);
+        while (result.size() < padded) {
+            result.add(last);
+        }
+        return result;
+    }
+}
@@ -1,17 +1,36 @@
 package jpabook.jpastudy.repository;
 
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.jpa.impl.JPAQuery;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.Cache;
 import jakarta.persistence.EntityManager;
 import jpabook.jpastudy.domain.item.Item;
-import lombok.RequiredArgsConstructor;
+import jpabook.jpastudy.domain.item.ItemType;
+import org.hibernate.query.NativeQuery;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.Collection;
 import java.util.List;
 
+import static jpabook.jpastudy.domain.QCategory.category;
+import static jpabook.jpastudy.domain.item.QItem.item;
+
 @Repository
-@RequiredArgsConstructor
 public class ItemRepository {
 
+    // 재고 UPDATE 전용 쿼리 공간: 하이버네이트가 item 2차 캐시 영역 전체를 비우지 않도록 한다
+    private static final String STOCK_QUERY_SPACE = "item_stock";
+
     private final EntityManager em;
+    private final JPAQueryFactory query;
+
+    public ItemRepository(EntityManager em) {
+        this.em = em;
+        this.query = new JPAQueryFactory(em);
+    }
 
     public void save(Item item) {
         if (item.getId() == null) {
@@ -28,4 +47,109 @@ public class ItemRepository {
     public List<Item> findAll() {
         return em.createQuery("select i from Item i", Item.class).getResultList();
     }
+
+    /**
+     * 커서(keyset) 페이징 상품 목록: item_id 순으로 lastItemId 다음부터 limit 건.
+     * - 카테고리는 category_item(category_id, item_id) 인덱스, 종류는 item(dtype, item_id) 인덱스를 탄다.
+     */
+    public List<Item> findPage(ItemSearch itemSearch, Long lastItemId, int limit) {
+        JPAQuery<Item> q = query.selectFrom(item);
+        if (itemSearch.getCategoryId() != null) {
+            q.join(item.categories, category)
+                    .where(category.id.eq(itemSearch.getCategoryId()));
+        }
+
+        return q.where(typeEq(itemSearch.getItemType()), idGt(lastItemId))
+                .orderBy(item.id.asc())
+                .limit(limit)
+                .fetch();
+    }
+
+    // 상품명 앞부분 일치(item(name) 인덱스), 주문 화면 자동완성용
+    public List<Item> findByNamePrefix(String prefix, int limit) {
+        return query.selectFrom(item)
+                .where(item.name.startsWith(prefix))
+                .orderBy(item.name.asc(), item.id.asc())
+                .limit(limit)
+                .fetch();
+    }
+
+    private BooleanExpression typeEq(ItemType itemType) {
+        if (itemType == null) {
+            return null;
+        }
+        return item.instanceOf(itemType.getEntityClass());
+    }
+
+    private BooleanExpression idGt(Long lastItemId) {
+        if (lastItemId == null) {
+            return null;
+        }
+        return item.id.gt(lastItemId);
+    }
+
+    public List<Item> findAllById(Collection<Long> ids) {
+        return InListLoader.defaults().load(ids, chunk ->
+                em.createQuery("select i from Item i where i.id in :ids", Item.class)
+                        .setParameter("ids", chunk)
+                        .getResultList());
+    }
+
+    /**
+     * 재고 차감: 조건부 UPDATE 한 번으로 처리한다(읽고-수정-쓰기 사이의 갱신 손실 없음).
+     * - 같은 트랜잭션에서 저장한 상품도 보이도록 먼저 flush 한다.
+     * - 넘겨받은 엔티티는 영속성 컨텍스트에서 분리된다(재고 값이 DB 와 다르므로). 새 재고가 필요하면 다시 조회한다.
+     * @return 재고가 부족해서 변경된 행이 없으면 false
+     */
+    public boolean decreaseStock(Item item, int quantity) {
+        em.flush();
+        int updated = em.createNativeQuery(
+                        "update item set stock_quantity = stock_quantity - :quantity" +
+                                " where item_id = :itemId and stock_quantity >= :quantity")
+                .setParameter("quantity", quantity)
+                .setParameter("itemId", item.getId())
+                .unwrap(NativeQuery.class)
+                .addSynchronizedQuerySpace(STOCK_QUERY_SPACE)
+                .executeUpdate();
+
+        if (updated == 1) {
+            synchronize(item);
+        }
+        return updated == 1;
+    }
+
+    // 재고 복구(주문 취소)
+    public void increaseStock(Item item, int quantity) {
+        em.flush();
+        em.createNativeQuery(
+                        "update item set stock_quantity = stock_quantity + :quantity" +
+                                " where item_id = :itemId")
+                .setParameter("quantity", quantity)
+                .setParameter("itemId", item.getId())
+                .unwrap(NativeQuery.class)
+                .addSynchronizedQuerySpace(STOCK_QUERY_SPACE)
+                .executeUpdate();
+
+        synchronize(item);
+    }
+
+    // 영속성 컨텍스트의 엔티티는 분리하고(다시 읽는 SELECT 없이, 이전 재고 값이 다른 변경과 함께 덮어쓰이지 않도록)
+    // 2차 캐시의 해당 상품은 지금과 트랜잭션 종료 후에 비운다
+    private void synchronize(Item item) {
+        Long itemId = item.getId();
+        Cache cache = em.getEntityManagerFactory().getCache();
+        cache.evict(Item.class, itemId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.evict(Item.class, itemId);
+                }
+            });
+        }
+
+        if (em.contains(item)) {
+            em.detach(item);
+        }
+    }
 }
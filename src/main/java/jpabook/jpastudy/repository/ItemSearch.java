@@ -0,0 +1,12 @@
+package jpabook.jpastudy.repository;
+
+import jpabook.jpastudy.domain.item.ItemType;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter @Setter
+public class ItemSearch {
+
+    private Long categoryId;
+    private ItemType itemType;
+}
@@ -0,0 +1,95 @@
+package jpabook.jpastudy.repository;
+
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Stream;
+
+/**
+ * 회원 이름 블룸 필터.
+ * - mightContain 이 false 면 그 이름은 확실히 없으므로 DB 조회를 건너뛸 수 있다. true 면 DB 로 확인해야 한다.
+ * - 다른 서버가 넣은 이름은 모를 수 있다. 최종 판단은 member.name 유니크 제약이 한다.
+ * - 시작할 때 DB 의 이름으로 채우고, 채우기 전에는 항상 true 를 돌려준다.
+ */
+@Slf4j
+@Component
+public class MemberNameFilter {
+
+    private final EntityManager em;
+    private final AtomicLongArray bits;
+    private final int bitSize;
+    private final int hashCount;
+    private volatile boolean ready;
+
+    public MemberNameFilter(EntityManager em,
+                            @Value("${jpastudy.member-name-filter.expected-insertions:1000000}") int expectedInsertions,
+                            @Value("${jpastudy.member-name-filter.fpp:0.01}") double fpp) {
+        this.em = em;
+        // m = -n ln p / (ln 2)^2, k = m / n ln 2
+        long m = (long) Math.ceil(-expectedInsertions * Math.log(fpp) / (Math.log(2) * Math.log(2)));
+        this.bitSize = (int) Math.min(Integer.MAX_VALUE - 63, Math.max(64, m));
+        this.hashCount = Math.max(1, (int) Math.round((double) bitSize / expectedInsertions * Math.log(2)));
+        this.bits = new AtomicLongArray((bitSize + 63) / 64);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        try (Stream<String> names = em.createQuery("select m.name from Member m where m.name is not null", String.class)
+                .getResultStream()) {
+            names.forEach(this::put);
+        }
+        ready = true;
+        log.info("회원 이름 필터 적재 완료");
+    }
+
+    public void put(String name) {
+        if (name == null) {
+            return;
+        }
+        long hash = hash(name);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            int bit = Math.floorMod(h1 + i * h2, bitSize);
+            long mask = 1L << (bit & 63);
+            bits.getAndAccumulate(bit >>> 6, mask, (current, m) -> current | m);
+        }
+    }
+
+    public boolean mightContain(String name) {
+        if (!ready || name == null) {
+            return true;
+        }
+        long hash = hash(name);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            int bit = Math.floorMod(h1 + i * h2, bitSize);
+            if ((bits.get(bit >>> 6) & (1L << (bit & 63))) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // 64비트 FNV-1a 후 섞기
+    private static long hash(String name) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : name.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
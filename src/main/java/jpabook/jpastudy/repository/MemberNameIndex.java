@@ -0,0 +1,306 @@
+package jpabook.jpastudy.repository;
+
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.unit.DataSize;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.IntStream;
+
+/**
+ * 회원 이름 부분 일치 검색용 trigram(3글자) 색인.
+ * - 이름을 소문자로 바꿔 3글자 조각마다 회원 id 목록을 둔다. 검색어 조각 중 목록이 가장 짧은 것만 훑고 이름에 검색어가 있는지 확인한다.
+ * - 검색어가 3글자보다 짧으면 메모리의 이름을 훑는다.
+ * - 가입/이름 변경(MemberService, 일괄 가입)은 커밋 후 바로 반영한다.
+ *   주기적으로 마지막으로 읽은 member_id 다음부터만 읽어(처음에는 전체) 서비스를 거치지 않고 추가된 회원을 더한다.
+ *   읽는 동안 서비스가 바꾼 회원은 읽은 값으로 덮어쓰지 않는다.
+ * - 메모리는 추정 크기(maxSize)로 제한한다. 넘으면 색인을 버리고 이후 검색은 DB LIKE 로 한다(재시작 전까지).
+ * - 색인을 쓸 수 없거나 일치하는 회원이 maxCandidates 를 넘으면 Optional.empty() 를 돌려준다(호출하는 쪽은 DB LIKE 로 대신한다).
+ * - 이 JVM 이 모르는 변경은 늦게 보인다: 다른 노드나 직접 SQL 로 추가한 회원은 다음 주기까지,
+ *   서비스를 거치지 않은 이름 변경은 재시작까지 반영되지 않는다. 호출하는 쪽은 찾지 못하면 DB 로 다시 확인해야 한다.
+ */
+@Slf4j
+@Component
+public class MemberNameIndex {
+
+    private static final int LOAD_BATCH_SIZE = 10_000;
+
+    private final EntityManager em;
+    private final long maxBytes;
+    private final int maxCandidates;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Trigrams trigrams = new Trigrams(); // null 이면 크기 초과로 쓰지 않음
+    private boolean loaded;
+    private long lastLoadedId;
+    private Set<Long> changedDuringLoad;        // 읽는 중에 서비스가 반영한 회원
+
+    public MemberNameIndex(EntityManager em,
+                           @Value("${jpastudy.member-name-index.max-size:64MB}") DataSize maxSize,
+                           @Value("${jpastudy.member-name-index.max-candidates:" + InListLoader.DEFAULT_CHUNK_SIZE + "}") int maxCandidates) {
+        this.em = em;
+        this.maxBytes = maxSize.toBytes();
+        this.maxCandidates = Math.min(maxCandidates, InListLoader.DEFAULT_CHUNK_SIZE);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${jpastudy.member-name-index.refresh-interval-ms:60000}",
+            initialDelayString = "${jpastudy.member-name-index.refresh-interval-ms:60000}")
+    public synchronized void refresh() {
+        beginLoad();
+        try {
+            while (true) {
+                List<Object[]> rows = em.createQuery(
+                                "select m.id, m.name from Member m where m.id > :lastId order by m.id", Object[].class)
+                        .setParameter("lastId", lastLoadedId)
+                        .setMaxResults(LOAD_BATCH_SIZE)
+                        .getResultList();
+                if (!applyLoaded(rows) || rows.size() < LOAD_BATCH_SIZE) {
+                    break;
+                }
+            }
+        } finally {
+            endLoad();
+        }
+    }
+
+    void beginLoad() {
+        lock.writeLock().lock();
+        try {
+            changedDuringLoad = new HashSet<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // DB 에서 읽은 (id, name) 행을 더한다. 크기를 넘어서 색인을 버렸으면 false
+    boolean applyLoaded(List<Object[]> rows) {
+        lock.writeLock().lock();
+        try {
+            if (trigrams == null) {
+                return false;
+            }
+            for (Object[] row : rows) {
+                Long memberId = (Long) row[0];
+                if (!changedDuringLoad.contains(memberId)) {
+                    trigrams.put(memberId, (String) row[1]);
+                }
+                lastLoadedId = Math.max(lastLoadedId, memberId);
+            }
+            return checkSize();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void endLoad() {
+        lock.writeLock().lock();
+        try {
+            changedDuringLoad = null;
+            if (trigrams != null && !loaded) {
+                loaded = true;
+                log.info("회원 이름 색인: {} 명, 약 {} KB", trigrams.size(), trigrams.estimatedBytes() / 1024);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 트랜잭션 안이면 커밋된 뒤에 반영한다
+    public void putAfterCommit(Long memberId, String name) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    put(memberId, name);
+                }
+            });
+        } else {
+            put(memberId, name);
+        }
+    }
+
+    public void put(Long memberId, String name) {
+        lock.writeLock().lock();
+        try {
+            if (changedDuringLoad != null) {
+                changedDuringLoad.add(memberId);
+            }
+            if (trigrams != null) {
+                trigrams.put(memberId, name);
+                checkSize();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private boolean checkSize() {
+        if (trigrams.estimatedBytes() <= maxBytes) {
+            return true;
+        }
+        log.warn("회원 이름 색인 크기 초과({} 명, 약 {} KB), 이후 부분 일치 검색은 DB 로 합니다.", trigrams.size(), trigrams.estimatedBytes() / 1024);
+        trigrams = null;
+        return false;
+    }
+
+    /**
+     * 이름에 text 가 들어 있는(앞뒤 공백 제외, 대소문자 무시) 회원 id.
+     * @return 색인을 쓸 수 없거나 일치하는 회원이 너무 많으면 empty
+     */
+    public Optional<Set<Long>> findIdsContaining(String text) {
+        String query = Trigrams.normalize(text);
+        lock.readLock().lock();
+        try {
+            if (!loaded || trigrams == null || query.isEmpty()) {
+                return Optional.empty();
+            }
+            return Optional.ofNullable(trigrams.find(query, maxCandidates));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 색인 자료구조(스레드 안전하지 않음, MemberNameIndex 의 잠금 안에서만 쓴다).
+     */
+    static final class Trigrams {
+
+        // 추정 크기: 이름 하나(HashMap 항목, Long, String), 조각 하나(HashMap 항목, Long, Postings), id 하나(배열이 두 배로 늘어나는 여유 포함)
+        private static final int NAME_OVERHEAD = 96;
+        private static final int POSTINGS_OVERHEAD = 112;
+        private static final int BYTES_PER_ID = 16;
+
+        private final Map<Long, String> names = new HashMap<>();
+        private final Map<Long, Postings> postings = new HashMap<>();
+        private long estimatedBytes;
+
+        static String normalize(String name) {
+            return name == null ? "" : name.trim().toLowerCase(Locale.ROOT);
+        }
+
+        int size() {
+            return names.size();
+        }
+
+        long estimatedBytes() {
+            return estimatedBytes;
+        }
+
+        void put(Long memberId, String name) {
+            String normalized = normalize(name);
+            String previous = names.put(memberId, normalized);
+            if (normalized.equals(previous)) {
+                return;
+            }
+            if (previous != null) {
+                estimatedBytes -= NAME_OVERHEAD + 2L * previous.length();
+                for (long key : keys(previous)) {
+                    Postings p = postings.get(key);
+                    if (p != null && p.remove(memberId)) {
+                        estimatedBytes -= BYTES_PER_ID;
+                        if (p.isEmpty()) {
+                            postings.remove(key);
+                            estimatedBytes -= POSTINGS_OVERHEAD;
+                        }
+                    }
+                }
+            }
+            estimatedBytes += NAME_OVERHEAD + 2L * normalized.length();
+            for (long key : keys(normalized)) {
+                Postings p = postings.get(key);
+                if (p == null) {
+                    p = new Postings();
+                    postings.put(key, p);
+                    estimatedBytes += POSTINGS_OVERHEAD;
+                }
+                p.add(memberId);
+                estimatedBytes += BYTES_PER_ID;
+            }
+        }
+
+        // 일치하는 회원이 limit 을 넘으면 null
+        Set<Long> find(String query, int limit) {
+            Set<Long> result = new HashSet<>();
+            if (query.length() < 3) {
+                for (Map.Entry<Long, String> e : names.entrySet()) {
+                    if (e.getValue().contains(query)) {
+                        result.add(e.getKey());
+                        if (result.size() > limit) {
+                            return null;
+                        }
+                    }
+                }
+                return result;
+            }
+
+            Postings smallest = null;
+            for (long key : keys(query)) {
+                Postings p = postings.get(key);
+                if (p == null) {
+                    return result;
+                }
+                if (smallest == null || p.size < smallest.size) {
+                    smallest = p;
+                }
+            }
+            for (int i = 0; i < smallest.size; i++) {
+                long id = smallest.ids[i];
+                if (names.get(id).contains(query)) {
+                    result.add(id);
+                    if (result.size() > limit) {
+                        return null;
+                    }
+                }
+            }
+            return result;
+        }
+
+        // 3글자 조각(문자 세 개를 16비트씩 long 하나에), 중복 제거
+        static long[] keys(String s) {
+            if (s.length() < 3) {
+                return new long[0];
+            }
+            return IntStream.rangeClosed(0, s.length() - 3)
+                    .mapToLong(i -> ((long) s.charAt(i) << 32) | ((long) s.charAt(i + 1) << 16) | s.charAt(i + 2))
+                    .distinct()
+                    .toArray();
+        }
+    }
+
+    // 한 조각을 가진 회원 id 목록(순서 없음)
+    static final class Postings {
+
+        private long[] ids = new long[4];
+        private int size;
+
+        void add(long id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+
+        boolean remove(long id) {
+            for (int i = 0; i < size; i++) {
+                if (ids[i] == id) {
+                    ids[i] = ids[--size];
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+    }
+}
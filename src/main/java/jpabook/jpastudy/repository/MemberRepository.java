@@ -5,6 +5,7 @@ import jakarta.persistence.PersistenceContext;
 import jpabook.jpastudy.domain.Member;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -26,9 +27,37 @@ public class MemberRepository {
                 .getResultList();
     }
 
+    // 이름 존재 여부만 확인(엔티티를 읽지 않음, member(name) 유니크 인덱스 사용)
+    public boolean existsByName(String name) {
+        return !em.createQuery("select m.id from Member m where m.name = :name", Long.class)
+                .setParameter("name", name)
+                .setMaxResults(1)
+                .getResultList()
+                .isEmpty();
+    }
+
+    // 주어진 이름 중 이미 있는 이름(IN 절 묶음 조회)
+    public List<String> findExistingNames(Collection<String> names) {
+        return InListLoader.defaults().load(names, chunk ->
+                em.createQuery("select m.name from Member m where m.name in :names", String.class)
+                        .setParameter("names", chunk)
+                        .getResultList());
+    }
+
+    public void flush() {
+        em.flush();
+    }
+
     public List<Member> findByName(String name) {
         return em.createQuery("select m from Member m where m.name = :name", Member.class)
                 .setParameter("name", name)
                 .getResultList();
     }
+
+    public List<Member> findAllById(Collection<Long> ids) {
+        return InListLoader.defaults().load(ids, chunk ->
+                em.createQuery("select m from Member m where m.id in :ids", Member.class)
+                        .setParameter("ids", chunk)
+                        .getResultList());
+    }
 }
@@ -0,0 +1,71 @@
+package jpabook.jpastudy.repository;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jpabook.jpastudy.monitor.QueryCounter;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+
+/**
+ * 서로 의존하지 않는 조회 쿼리를 동시에 실행한다.
+ * - 쿼리마다 가상 스레드에서 새 EntityManager(별도 커넥션, 읽기 전용)를 열고 닫는다.
+ * - 동시에 잡을 수 있는 커넥션 수는 maxConcurrency 로 제한한다. 커넥션 풀 크기보다 충분히 작게 잡아야
+ *   요청 스레드가 이미 커넥션을 쥔 채 기다리는 상황에서 풀이 바닥나지 않는다.
+ * - 각 쿼리는 서로 다른 커넥션에서 실행되므로 같은 스냅샷을 보장하지 않는다. 조회 화면용으로만 사용한다.
+ */
+@Component
+public class QueryFanOut {
+
+    private final EntityManagerFactory emf;
+    private final Semaphore permits;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public QueryFanOut(EntityManagerFactory emf,
+                       @Value("${jpastudy.query-fan-out.max-concurrency:4}") int maxConcurrency) {
+        this.emf = emf;
+        this.permits = new Semaphore(maxConcurrency);
+    }
+
+    public <T> CompletableFuture<T> submit(Function<EntityManager, T> query) {
+        QueryCounter counter = QueryCounter.current();
+        return CompletableFuture.supplyAsync(() -> {
+            permits.acquireUninterruptibly();
+            QueryCounter.attach(counter);
+            EntityManager em = emf.createEntityManager();
+            try {
+                em.unwrap(Session.class).setDefaultReadOnly(true);
+                return query.apply(em);
+            } finally {
+                em.close();
+                QueryCounter.detach();
+                permits.release();
+            }
+        }, executor);
+    }
+
+    // 결과를 기다리고, 쿼리에서 난 예외는 그대로 던진다
+    public static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
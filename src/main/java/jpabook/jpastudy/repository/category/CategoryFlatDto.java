@@ -0,0 +1,17 @@
+package jpabook.jpastudy.repository.category;
+
+import lombok.Data;
+
+@Data
+public class CategoryFlatDto {
+
+    private Long id;
+    private String name;
+    private Long parentId;
+
+    public CategoryFlatDto(Long id, String name, Long parentId) {
+        this.id = id;
+        this.name = name;
+        this.parentId = parentId;
+    }
+}
@@ -0,0 +1,15 @@
+package jpabook.jpastudy.repository.category;
+
+import lombok.Data;
+
+@Data
+public class CategoryItemDto {
+
+    private Long categoryId;
+    private Long itemId;
+
+    public CategoryItemDto(Long categoryId, Long itemId) {
+        this.categoryId = categoryId;
+        this.itemId = itemId;
+    }
+}
@@ -0,0 +1,42 @@
+package jpabook.jpastudy.repository.category;
+
+import jakarta.persistence.EntityManager;
+import jpabook.jpastudy.domain.Category;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class CategoryRepository {
+
+    private final EntityManager em;
+
+    public void save(Category category) {
+        em.persist(category);
+    }
+
+    public Category findOne(Long id) {
+        return em.find(Category.class, id);
+    }
+
+    // 전체 계층을 한 번에 조회(부모는 id 만)
+    public List<CategoryFlatDto> findAllFlat() {
+        return em.createQuery("SELECT" +
+                        " NEW jpabook.jpastudy.repository.category.CategoryFlatDto(c.id, c.name, p.id)" +
+                        " FROM Category c" +
+                        " LEFT JOIN c.parent p" +
+                        " ORDER BY c.id", CategoryFlatDto.class)
+                .getResultList();
+    }
+
+    // category_item 연결 전체를 한 번에 조회
+    public List<CategoryItemDto> findAllCategoryItems() {
+        return em.createQuery("SELECT" +
+                        " NEW jpabook.jpastudy.repository.category.CategoryItemDto(c.id, i.id)" +
+                        " FROM Category c" +
+                        " JOIN c.items i", CategoryItemDto.class)
+                .getResultList();
+    }
+}
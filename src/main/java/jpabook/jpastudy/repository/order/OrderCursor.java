@@ -0,0 +1,84 @@
+package jpabook.jpastudy.repository.order;
+
+import jpabook.jpastudy.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * 주문 목록 커서 페이징용 커서.
+ * - 클라이언트에는 마지막으로 조회한 order_id 를 감싼 불투명(opaque) 문자열로 노출한다.
+ * - 해석할 수 없는 커서는 InvalidCursorException(400)
+ */
+public final class OrderCursor {
+
+    private static final String PREFIX = "o:";
+    private static final String KEY_PREFIX = "d:";
+    private static final Long FIRST = 0L;
+
+    private OrderCursor() {
+    }
+
+    public static String encode(Long lastOrderId) {
+        return toOpaque(PREFIX + lastOrderId);
+    }
+
+    // 커서가 없으면 첫 페이지
+    public static Long decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return FIRST;
+        }
+
+        String raw = fromOpaque(cursor);
+        if (!raw.startsWith(PREFIX)) {
+            throw new InvalidCursorException("잘못된 커서입니다.");
+        }
+        try {
+            return Long.valueOf(raw.substring(PREFIX.length()));
+        } catch (NumberFormatException e) {
+            throw new InvalidCursorException("잘못된 커서입니다.", e);
+        }
+    }
+
+    // 주문일 + order_id 정렬용 커서
+    public static String encode(LocalDateTime orderDate, Long orderId) {
+        return toOpaque(KEY_PREFIX + orderDate + "|" + orderId);
+    }
+
+    // 커서가 없으면 null(첫 페이지)
+    public static Key decodeKey(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+
+        String raw = fromOpaque(cursor);
+        int separator = raw.lastIndexOf('|');
+        if (!raw.startsWith(KEY_PREFIX) || separator < 0) {
+            throw new InvalidCursorException("잘못된 커서입니다.");
+        }
+        try {
+            return new Key(LocalDateTime.parse(raw.substring(KEY_PREFIX.length(), separator)),
+                    Long.valueOf(raw.substring(separator + 1)));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new InvalidCursorException("잘못된 커서입니다.", e);
+        }
+    }
+
+    private static String toOpaque(String raw) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String fromOpaque(String cursor) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("잘못된 커서입니다.", e);
+        }
+    }
+
+    public record Key(LocalDateTime orderDate, Long orderId) {
+    }
+}
@@ -0,0 +1,40 @@
+package jpabook.jpastudy.repository.order;
+
+import jpabook.jpastudy.exception.InvalidExpandException;
+import org.springframework.util.StringUtils;
+
+/**
+ * 주문 조회 시 함께 읽을 연관관계(expand=member,delivery,items.item).
+ * - member, delivery: toOne 이라 루트 쿼리에 엔티티 그래프로 붙인다(페이징에 영향 없음).
+ * - items, items.item: toMany 라 루트 페이지를 읽은 뒤 IN 쿼리로 한 번에 채운다. items.item 은 items 를 포함한다.
+ */
+public record OrderFetchPlan(boolean member, boolean delivery, boolean items, boolean itemsItem) {
+
+    public static final OrderFetchPlan NONE = new OrderFetchPlan(false, false, false, false);
+
+    public static OrderFetchPlan parse(String expand) {
+        if (!StringUtils.hasText(expand)) {
+            return NONE;
+        }
+
+        boolean member = false, delivery = false, items = false, itemsItem = false;
+        for (String path : expand.split(",")) {
+            switch (path.trim()) {
+                case "member" -> member = true;
+                case "delivery" -> delivery = true;
+                case "items" -> items = true;
+                case "items.item" -> {
+                    items = true;
+                    itemsItem = true;
+                }
+                case "" -> { }
+                default -> throw new InvalidExpandException("지원하지 않는 expand 입니다: " + path.trim());
+            }
+        }
+        return new OrderFetchPlan(member, delivery, items, itemsItem);
+    }
+
+    public boolean hasToOne() {
+        return member || delivery;
+    }
+}
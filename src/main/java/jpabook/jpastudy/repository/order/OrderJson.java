@@ -0,0 +1,56 @@
+package jpabook.jpastudy.repository.order;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import jpabook.jpastudy.domain.OrderStatus;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * 조회 결과 행(Object[])을 DTO 없이 JsonGenerator 에 바로 쓴다.
+ * - OrderQueryDto / OrderSimpleQueryDto 를 Jackson 이 직렬화한 결과와 같은 필드 이름, 순서, 형식을 쓴다.
+ * - 행 배치: {orderId, name, orderDate, status, city, street, zipcode}
+ */
+public final class OrderJson {
+
+    // SELECT 절에 이 순서로 나열한다
+    public static final String ORDER_COLUMNS = "o.id, m.name, o.orderDate, o.status, d.address.city, d.address.street, d.address.zipcode";
+
+    // Jackson JavaTimeModule 의 LocalDateTime 기본 형식
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+
+    private OrderJson() {
+    }
+
+    public static Long orderId(Object[] row) {
+        return (Long) row[0];
+    }
+
+    // 주문 필드를 현재 객체에 쓴다(writeStartObject 는 호출하는 쪽에서)
+    public static void writeOrderFields(JsonGenerator generator, Object[] row) throws IOException {
+        generator.writeNumberField("orderId", (Long) row[0]);
+        generator.writeStringField("name", (String) row[1]);
+
+        LocalDateTime orderDate = (LocalDateTime) row[2];
+        if (orderDate == null) {
+            generator.writeNullField("orderDate");
+        } else {
+            generator.writeStringField("orderDate", orderDate.format(DATE_TIME));
+        }
+
+        OrderStatus status = (OrderStatus) row[3];
+        generator.writeStringField("orderStatus", status == null ? null : status.name());
+
+        // 임베디드 값이 모두 null 이면 Hibernate 는 Address 를 null 로 읽는다
+        if (row[4] == null && row[5] == null && row[6] == null) {
+            generator.writeNullField("address");
+        } else {
+            generator.writeObjectFieldStart("address");
+            generator.writeStringField("city", (String) row[4]);
+            generator.writeStringField("street", (String) row[5]);
+            generator.writeStringField("zipcode", (String) row[6]);
+            generator.writeEndObject();
+        }
+    }
+}
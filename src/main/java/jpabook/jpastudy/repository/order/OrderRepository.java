@@ -2,15 +2,21 @@ package jpabook.jpastudy.repository.order;
 
 import com.querydsl.core.types.dsl.BooleanExpression;
 import com.querydsl.jpa.impl.JPAQueryFactory;
+import com.querydsl.jpa.impl.JPAQuery;
+import jakarta.persistence.EntityGraph;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.TypedQuery;
 import jakarta.persistence.criteria.*;
 import jpabook.jpastudy.domain.*;
 import jpabook.jpastudy.domain.Order;
+import jpabook.jpastudy.repository.InListLoader;
+import org.hibernate.jpa.SpecHints;
 import org.springframework.stereotype.Repository;
 import org.springframework.util.StringUtils;
 
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 import static jpabook.jpastudy.domain.QMember.member;
@@ -133,6 +139,84 @@ public class OrderRepository {
         return member.name.like(nameCond);
     }
 
+    /**
+     * 주문 검색(커서 페이징).
+     * - 조건은 항상 같은 순서(상태, 주문일, 회원 이름, 금액, 커서)로 붙이고 값은 모두 바인딩 파라미터로 넘긴다.
+     *   같은 조건 조합이면 같은 SQL 이 만들어져 쿼리 계획 캐시와 DB 문장 캐시를 함께 쓴다.
+     * - 회원 이름은 같음, 앞부분 일치(LIKE 'x%'), 부분 일치를 지원한다.
+     *   부분 일치는 서비스가 이름 색인으로 찾은 회원 id(memberIds)를 IN 으로 넘기면 그 회원만 이름을 다시 확인하고,
+     *   memberIds 가 null 이면 LIKE '%x%' 로 검색한다.
+     * - 정렬은 (주문일, order_id) 라서 같은 주문일이 여러 건이어도 순서가 고정된다. orders(status, order_date) 인덱스를 탄다.
+     */
+    public List<Order> search(OrderSearch cond, Collection<Long> memberIds, OrderCursor.Key after, int limit) {
+        boolean newest = cond.getSort() != OrderSearch.Sort.OLDEST;
+        return query
+                .selectFrom(order)
+                .join(order.member, member).fetchJoin()
+                .join(order.delivery).fetchJoin()
+                .where(statusEq(cond.getOrderStatus()),
+                        orderDateGoe(cond.getOrderDateFrom()),
+                        orderDateLoe(cond.getOrderDateTo()),
+                        nameMatches(cond.getMemberName(), cond.getNameMatch(), memberIds),
+                        totalPriceGoe(cond.getMinTotalPrice()),
+                        totalPriceLoe(cond.getMaxTotalPrice()),
+                        after(after, newest))
+                .orderBy(newest ? order.orderDate.desc() : order.orderDate.asc(),
+                        newest ? order.id.desc() : order.id.asc())
+                .limit(limit)
+                .fetch();
+    }
+
+    // 이름 색인 없이(부분 일치는 LIKE)
+    public List<Order> search(OrderSearch cond, OrderCursor.Key after, int limit) {
+        return search(cond, null, after, limit);
+    }
+
+    private BooleanExpression orderDateGoe(LocalDate from) {
+        return from == null ? null : order.orderDate.goe(from.atStartOfDay());
+    }
+
+    private BooleanExpression orderDateLoe(LocalDate to) {
+        return to == null ? null : order.orderDate.lt(to.plusDays(1).atStartOfDay());
+    }
+
+    private BooleanExpression nameMatches(String name, OrderSearch.NameMatch match, Collection<Long> memberIds) {
+        if (!StringUtils.hasText(name)) {
+            return null;
+        }
+        return switch (match) {
+            case EXACT -> member.name.eq(name);
+            case PREFIX -> member.name.startsWith(name);
+            // 색인과 같이 앞뒤 공백은 빼고 대소문자는 무시한다
+            // IN 목록 길이는 2의 거듭제곱으로 맞춰 쿼리 계획을 재사용한다(색인이 후보를 청크 크기 이하로 제한한다)
+            // 색인이 늦게 반영된 경우를 위해 후보도 이름을 다시 확인한다(member_id 로 찾은 행만 비교)
+            case CONTAINS -> memberIds != null && !memberIds.isEmpty()
+                    ? member.id.in(InListLoader.defaults().chunks(memberIds).get(0)).and(member.name.containsIgnoreCase(name.trim()))
+                    : member.name.containsIgnoreCase(name.trim());
+        };
+    }
+
+    private BooleanExpression totalPriceGoe(Integer min) {
+        return min == null ? null : order.totalPrice.goe(min);
+    }
+
+    private BooleanExpression totalPriceLoe(Integer max) {
+        return max == null ? null : order.totalPrice.loe(max);
+    }
+
+    // (주문일, order_id) 가 커서보다 뒤인 행
+    private BooleanExpression after(OrderCursor.Key key, boolean newest) {
+        if (key == null) {
+            return null;
+        }
+        if (newest) {
+            return order.orderDate.lt(key.orderDate())
+                    .or(order.orderDate.eq(key.orderDate()).and(order.id.lt(key.orderId())));
+        }
+        return order.orderDate.gt(key.orderDate())
+                .or(order.orderDate.eq(key.orderDate()).and(order.id.gt(key.orderId())));
+    }
+
     public List<Order> findAllWithMemberDelivery() {
         return em.createQuery(
                 "SELECT o FROM Order o" +
@@ -151,6 +235,19 @@ public class OrderRepository {
                 .getResultList();
     }
 
+    // 커서(keyset) 기반 페이징: OFFSET 없이 order_id 기준으로 다음 페이지를 조회한다.
+    public List<Order> findAllWithMemberDeliveryAfter(Long lastOrderId, int limit) {
+        return em.createQuery(
+                        "SELECT o FROM Order o" +
+                                " JOIN FETCH o.member m" +
+                                " JOIN FETCH o.delivery d" +
+                                " WHERE o.id > :lastOrderId" +
+                                " ORDER BY o.id", Order.class)
+                .setParameter("lastOrderId", lastOrderId)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
     public List<Order> fineAllWithItem() {
         return em.createQuery(
                 "SELECT DISTINCT o FROM Order o" +
@@ -160,4 +257,49 @@ public class OrderRepository {
                         " JOIN FETCH oi.item i", Order.class)
                 .getResultList();
     }
+
+    /**
+     * 요청한 연관관계만 함께 읽는 커서 페이징.
+     * - toOne 은 엔티티 그래프(loadgraph)로 루트 쿼리에 조인한다.
+     * - toMany 는 루트 페이지를 읽은 뒤 주문 id IN 쿼리로 컬렉션을 채운다(루트 쿼리는 행이 늘지 않아 limit 이 그대로 동작).
+     */
+    public List<Order> findAll(OrderFetchPlan plan, Long lastOrderId, int limit) {
+        JPAQuery<Order> rootQuery = query
+                .selectFrom(order)
+                .where(order.id.gt(lastOrderId))
+                .orderBy(order.id.asc())
+                .limit(limit);
+        if (plan.hasToOne()) {
+            rootQuery.setHint(SpecHints.HINT_SPEC_LOAD_GRAPH, toOneGraph(plan));
+        }
+        List<Order> orders = rootQuery.fetch();
+
+        if (plan.items() && !orders.isEmpty()) {
+            fetchOrderItems(orders, plan.itemsItem());
+        }
+        return orders;
+    }
+
+    private EntityGraph<Order> toOneGraph(OrderFetchPlan plan) {
+        EntityGraph<Order> graph = em.createEntityGraph(Order.class);
+        if (plan.member()) {
+            graph.addAttributeNodes("member");
+        }
+        if (plan.delivery()) {
+            graph.addAttributeNodes("delivery");
+        }
+        return graph;
+    }
+
+    // 이미 영속성 컨텍스트에 있는 주문의 orderItems 컬렉션을 초기화한다
+    private void fetchOrderItems(List<Order> orders, boolean withItem) {
+        String jpql = "SELECT DISTINCT o FROM Order o" +
+                " LEFT JOIN FETCH o.orderItems oi" +
+                (withItem ? " LEFT JOIN FETCH oi.item i" : "") +
+                " WHERE o.id IN :ids";
+        InListLoader.defaults().load(orders.stream().map(Order::getId).toList(), ids ->
+                em.createQuery(jpql, Order.class)
+                        .setParameter("ids", ids)
+                        .getResultList());
+    }
 }
@@ -3,10 +3,37 @@ package jpabook.jpastudy.repository.order;
 import jpabook.jpastudy.domain.OrderStatus;
 import lombok.Getter;
 import lombok.Setter;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
 
 @Getter @Setter
 public class OrderSearch {
 
     private String memberName;
     private OrderStatus orderStatus;
+
+    // 회원 이름 비교 방법(앞부분 일치는 member(name) 인덱스 범위 검색이 된다)
+    private NameMatch nameMatch = NameMatch.PREFIX;
+
+    // 주문일 [from, to]
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate orderDateFrom;
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate orderDateTo;
+
+    // 주문 금액 [min, max]
+    private Integer minTotalPrice;
+    private Integer maxTotalPrice;
+
+    private Sort sort = Sort.NEWEST;
+
+    public enum NameMatch {
+        EXACT, PREFIX, CONTAINS
+    }
+
+    // 주문일이 같으면 order_id 로 순서를 정한다(커서 페이징이 가능한 안정 정렬)
+    public enum Sort {
+        NEWEST, OLDEST
+    }
 }
@@ -0,0 +1,133 @@
+package jpabook.jpastudy.repository.order.query;
+
+import jpabook.jpastudy.domain.Address;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * order_id 순으로 정렬된 플랫 데이터(OrderFlatDto)를 한 번 훑으면서 OrderQueryDto 로 조립한다.
+ * - groupingBy 처럼 행마다 키 객체를 만들지 않고, 조회 순서를 그대로 유지한다.
+ * - 같은 회원 이름과 주소(Address) 인스턴스는 하나로 재사용한다.
+ * - 입력은 반드시 order_id 기준으로 모여 있어야 한다(ORDER BY o.id).
+ */
+public class OrderFlatAssembler {
+
+    private final Consumer<OrderQueryDto> downstream;
+    private final boolean dedupe;
+
+    private final Map<String, String> names = new HashMap<>();
+    private final Map<Address, Address> addresses = new HashMap<>();
+
+    private OrderQueryDto current;
+
+    public OrderFlatAssembler(Consumer<OrderQueryDto> downstream) {
+        this(downstream, true);
+    }
+
+    /**
+     * @param dedupe 스트리밍처럼 주문을 바로 내보내는 경우에는 false 로 두어 캐시가 커지지 않게 한다.
+     */
+    public OrderFlatAssembler(Consumer<OrderQueryDto> downstream, boolean dedupe) {
+        this.downstream = downstream;
+        this.dedupe = dedupe;
+    }
+
+    public void add(OrderFlatDto row) {
+        if (current == null || !current.getOrderId().equals(row.getOrderId())) {
+            flush();
+            current = new OrderQueryDto(row.getOrderId(), name(row.getName()), row.getOrderDate(), row.getOrderStatus(), address(row.getAddress()), new ArrayList<>());
+        }
+        current.getOrderItems().add(new OrderItemQueryDto(row.getOrderId(), row.getItemName(), row.getOrderPrice(), row.getCount()));
+    }
+
+    // 마지막 주문까지 내보낸다
+    public void finish() {
+        flush();
+    }
+
+    private void flush() {
+        if (current != null) {
+            downstream.accept(current);
+            current = null;
+        }
+    }
+
+    private String name(String name) {
+        if (!dedupe || name == null) {
+            return name;
+        }
+        String found = names.putIfAbsent(name, name);
+        return found != null ? found : name;
+    }
+
+    private Address address(Address address) {
+        if (!dedupe || address == null) {
+            return address;
+        }
+        Address found = addresses.putIfAbsent(address, address);
+        return found != null ? found : address;
+    }
+
+    // == 일괄 조립 == //
+    public static List<OrderQueryDto> assemble(List<OrderFlatDto> rows) {
+        return assemble(rows, 0, rows.size());
+    }
+
+    /**
+     * 큰 입력용 병렬 조립.
+     * - 약 chunkSize 행 단위로 나누되, 한 주문이 두 조각에 걸치지 않도록 order_id 가 바뀌는 지점에서 자른다.
+     * - 조각별로 조립한 결과를 원래 순서대로 이어 붙인다.
+     */
+    public static List<OrderQueryDto> assembleParallel(List<OrderFlatDto> rows, int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize 는 0 보다 커야 합니다.");
+        }
+        if (rows.size() <= chunkSize) {
+            return assemble(rows);
+        }
+
+        List<Integer> bounds = splitBounds(rows, chunkSize);
+        return IntStream.range(0, bounds.size() - 1)
+                .parallel()
+                .mapToObj(k -> assemble(rows, bounds.get(k), bounds.get(k + 1)))
+                .flatMap(List::stream)
+                .collect(Collectors.toList());
+    }
+
+    private static List<OrderQueryDto> assemble(List<OrderFlatDto> rows, int from, int to) {
+        List<OrderQueryDto> result = new ArrayList<>();
+        OrderFlatAssembler assembler = new OrderFlatAssembler(result::add);
+        for (int i = from; i < to; i++) {
+            assembler.add(rows.get(i));
+        }
+        assembler.finish();
+        return result;
+    }
+
+    private static List<Integer> splitBounds(List<OrderFlatDto> rows, int chunkSize) {
+        List<Integer> bounds = new ArrayList<>();
+        bounds.add(0);
+
+        int next = chunkSize;
+        while (next < rows.size()) {
+            // 같은 주문의 행이 끝날 때까지 경계를 민다
+            Long orderId = rows.get(next - 1).getOrderId();
+            while (next < rows.size() && rows.get(next).getOrderId().equals(orderId)) {
+                next++;
+            }
+            if (next < rows.size()) {
+                bounds.add(next);
+            }
+            next += chunkSize;
+        }
+
+        bounds.add(rows.size());
+        return bounds;
+    }
+}
@@ -1,18 +1,32 @@
 package jpabook.jpastudy.repository.order.query;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import jakarta.persistence.EntityManager;
+import jpabook.jpastudy.repository.InListLoader;
+import jpabook.jpastudy.repository.QueryFanOut;
+import jpabook.jpastudy.repository.order.OrderJson;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Repository
 @RequiredArgsConstructor
 public class OrderQueryRepository {
 
+    private static final int STREAM_FETCH_SIZE = 1000;
+
     private final EntityManager em;
+    private final QueryFanOut queryFanOut;
 
     // 방법 1
     public List<OrderQueryDto> findOrderQueryDtos() {
@@ -30,7 +44,11 @@ public class OrderQueryRepository {
 
     // 1:N 관계를 제외한 나머지를 한번에 조회
     private List<OrderQueryDto> findOrders() {
-        return em.createQuery("SELECT" +
+        return findOrders(em);
+    }
+
+    private List<OrderQueryDto> findOrders(EntityManager entityManager) {
+        return entityManager.createQuery("SELECT" +
                         " NEW jpabook.jpastudy.repository.order.query.OrderQueryDto(o.id, m.name, o.orderDate, o.status, d.address)" +
                         " FROM Order o" +
                         " JOIN o.member m" +
@@ -69,17 +87,48 @@ public class OrderQueryRepository {
                 .collect(Collectors.toList());
     }
 
+    // IN 절은 고정 크기 묶음으로 나눠서 조회(파라미터 제한, 문장 캐시)
     private Map<Long, List<OrderItemQueryDto>> findOrderItemMap(List<Long> orderIds) {
-        List<OrderItemQueryDto> orderItems = em.createQuery("SELECT" +
+        List<OrderItemQueryDto> orderItems = InListLoader.defaults().load(orderIds, this::findOrderItemsIn);
+
+        return orderItems.stream()
+                .collect(Collectors.groupingBy(OrderItemQueryDto::getOrderId));
+    }
+
+    private List<OrderItemQueryDto> findOrderItemsIn(List<Long> orderIds) {
+        return em.createQuery("SELECT" +
                         " NEW jpabook.jpastudy.repository.order.query.OrderItemQueryDto(oi.order.id, i.name, oi.orderPrice, oi.count)" +
                         " FROM OrderItem oi" +
                         " JOIN oi.item i" +
                         " WHERE oi.order.id IN :orderIds", OrderItemQueryDto.class)
                 .setParameter("orderIds", orderIds)
                 .getResultList();
+    }
 
-        return orderItems.stream()
+    // 방법 2-1: 루트 조회와 컬렉션 조회를 서로 다른 커넥션에서 동시에 실행
+    // - 컬렉션 쿼리는 루트의 id 대신 같은 조인 조건으로 조회하므로 루트 결과를 기다리지 않는다
+    public List<OrderQueryDto> findAllByDto_fanOut() {
+        CompletableFuture<List<OrderQueryDto>> orders = queryFanOut.submit(this::findOrders);
+        CompletableFuture<List<OrderItemQueryDto>> orderItems = queryFanOut.submit(this::findAllOrderItems);
+
+        Map<Long, List<OrderItemQueryDto>> orderItemMap = QueryFanOut.join(orderItems).stream()
                 .collect(Collectors.groupingBy(OrderItemQueryDto::getOrderId));
+
+        List<OrderQueryDto> result = QueryFanOut.join(orders);
+        result.forEach(o -> o.setOrderItems(orderItemMap.get(o.getOrderId())));
+
+        return result;
+    }
+
+    private List<OrderItemQueryDto> findAllOrderItems(EntityManager entityManager) {
+        return entityManager.createQuery("SELECT" +
+                        " NEW jpabook.jpastudy.repository.order.query.OrderItemQueryDto(o.id, i.name, oi.orderPrice, oi.count)" +
+                        " FROM OrderItem oi" +
+                        " JOIN oi.item i" +
+                        " JOIN oi.order o" +
+                        " JOIN o.member m" +
+                        " JOIN o.delivery d", OrderItemQueryDto.class)
+                .getResultList();
     }
 
     // 방법 3
@@ -90,7 +139,89 @@ public class OrderQueryRepository {
                         " JOIN o.member m" +
                         " JOIN o.delivery d" +
                         " JOIN o.orderItems oi" +
-                        " JOIN oi.item i", OrderFlatDto.class)
+                        " JOIN oi.item i" +
+                        " ORDER BY o.id", OrderFlatDto.class)
                 .getResultList();
     }
+
+    // 방법 3-1: 플랫 데이터를 전진 전용 스트림으로 읽으면서 주문 단위로 조립해 바로 넘긴다(메모리 사용량 일정)
+    @Transactional(readOnly = true)
+    public void streamAllByDto_flat(Consumer<OrderQueryDto> action) {
+        try (Stream<OrderFlatDto> rows = em.createQuery("SELECT" +
+                        " NEW jpabook.jpastudy.repository.order.query.OrderFlatDto(o.id, m.name, o.orderDate, o.status, d.address, i.name, oi.orderPrice, oi.count)" +
+                        " FROM Order o" +
+                        " JOIN o.member m" +
+                        " JOIN o.delivery d" +
+                        " JOIN o.orderItems oi" +
+                        " JOIN oi.item i" +
+                        " ORDER BY o.id", OrderFlatDto.class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, STREAM_FETCH_SIZE)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream()) {
+
+            OrderFlatAssembler assembler = new OrderFlatAssembler(action, false);
+            rows.forEach(assembler::add);
+            assembler.finish();
+        }
+    }
+
+    /**
+     * 방법 4: 조회한 행을 DTO 로 만들지 않고 JsonGenerator 에 바로 쓴다(OrderQueryDto 목록과 같은 JSON).
+     * - 주문과 주문상품을 각각 order_id 순으로 읽으면서 두 결과를 나란히 진행해 주문마다 주문상품을 붙인다(쿼리 2번, 결과를 모아 두지 않음).
+     */
+    @Transactional(readOnly = true)
+    public void writeAllByDto_json(JsonGenerator generator) throws IOException {
+        try (Stream<Object[]> orderRows = em.createQuery("SELECT " + OrderJson.ORDER_COLUMNS +
+                        " FROM Order o" +
+                        " JOIN o.member m" +
+                        " JOIN o.delivery d" +
+                        " ORDER BY o.id", Object[].class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, STREAM_FETCH_SIZE)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+             Stream<Object[]> itemRows = em.createQuery("SELECT o.id, i.name, oi.orderPrice, oi.count" +
+                        " FROM OrderItem oi" +
+                        " JOIN oi.item i" +
+                        " JOIN oi.order o" +
+                        " JOIN o.member m" +
+                        " JOIN o.delivery d" +
+                        " ORDER BY o.id", Object[].class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, STREAM_FETCH_SIZE)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream()) {
+
+            Iterator<Object[]> items = itemRows.iterator();
+            Object[] item = items.hasNext() ? items.next() : null;
+
+            generator.writeStartArray();
+            for (Iterator<Object[]> orders = orderRows.iterator(); orders.hasNext(); ) {
+                Object[] order = orders.next();
+                long orderId = OrderJson.orderId(order);
+
+                generator.writeStartObject();
+                OrderJson.writeOrderFields(generator, order);
+
+                while (item != null && (Long) item[0] < orderId) {
+                    item = items.hasNext() ? items.next() : null;
+                }
+                // 주문상품이 없으면 null(OrderQueryDto 와 같게)
+                if (item == null || (Long) item[0] != orderId) {
+                    generator.writeNullField("orderItems");
+                } else {
+                    generator.writeArrayFieldStart("orderItems");
+                    while (item != null && (Long) item[0] == orderId) {
+                        generator.writeStartObject();
+                        generator.writeStringField("itemName", (String) item[1]);
+                        generator.writeNumberField("orderPrice", (Integer) item[2]);
+                        generator.writeNumberField("count", (Integer) item[3]);
+                        generator.writeEndObject();
+                        item = items.hasNext() ? items.next() : null;
+                    }
+                    generator.writeEndArray();
+                }
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+        }
+    }
 }
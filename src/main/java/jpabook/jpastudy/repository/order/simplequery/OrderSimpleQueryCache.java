@@ -0,0 +1,73 @@
+package jpabook.jpastudy.repository.order.simplequery;
+
+import jpabook.jpastudy.service.ChangeVersions;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * OrderSimpleQueryDto 조회 결과 캐시.
+ * - DTO 에 회원 이름이 들어가므로 주문과 회원의 변경 버전(ChangeVersions)을 함께 본다. 둘 중 하나라도 바뀌면 다음 조회에서 다시 읽는다.
+ * - 갱신은 한 스레드만 하고, 그동안 다른 스레드에는 이전 데이터를 돌려준다.
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderSimpleQueryCache {
+
+    private final OrderSimpleQueryRepository orderSimpleQueryRepository;
+    private final ChangeVersions changeVersions;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    public List<OrderSimpleQueryDto> findOrderDtos() {
+        return get("findOrderDtos", orderSimpleQueryRepository::findOrderDtos);
+    }
+
+    // 두 버전 모두 늘기만 하므로 합이 같으면 둘 다 그대로다
+    public long getVersion() {
+        return changeVersions.version(ChangeVersions.Aggregate.ORDER) + changeVersions.version(ChangeVersions.Aggregate.MEMBER);
+    }
+
+    private List<OrderSimpleQueryDto> get(String key, Supplier<List<OrderSimpleQueryDto>> loader) {
+        long current = getVersion();
+        Entry entry = entries.get(key);
+        if (entry != null && entry.version == current) {
+            return entry.data;
+        }
+
+        // 처음 조회하는 키는 읽어올 때까지 기다린다(DB 조회는 맵 잠금 밖에서, 먼저 넣은 쪽이 남는다)
+        if (entry == null) {
+            Entry loaded = new Entry(current, List.copyOf(loader.get()));
+            Entry existing = entries.putIfAbsent(key, loaded);
+            return (existing != null ? existing : loaded).data;
+        }
+
+        if (!entry.refreshing.compareAndSet(false, true)) {
+            return entry.data;
+        }
+        try {
+            // 읽는 도중 버전이 또 바뀌면 저장된 버전이 낮으므로 다음 조회에서 다시 갱신된다
+            Entry refreshed = new Entry(current, List.copyOf(loader.get()));
+            entries.put(key, refreshed);
+            return refreshed.data;
+        } finally {
+            entry.refreshing.set(false);
+        }
+    }
+
+    private static class Entry {
+        private final long version;
+        private final List<OrderSimpleQueryDto> data;
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+
+        private Entry(long version, List<OrderSimpleQueryDto> data) {
+            this.version = version;
+            this.data = data;
+        }
+    }
+}
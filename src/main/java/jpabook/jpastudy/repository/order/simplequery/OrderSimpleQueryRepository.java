@@ -1,15 +1,24 @@
 package jpabook.jpastudy.repository.order.simplequery;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import jakarta.persistence.EntityManager;
+import jpabook.jpastudy.repository.order.OrderJson;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 @RequiredArgsConstructor
 public class OrderSimpleQueryRepository {
 
+    private static final int STREAM_FETCH_SIZE = 1000;
+
     private final EntityManager em;
 
     public List<OrderSimpleQueryDto> findOrderDtos() {
@@ -20,4 +29,25 @@ public class OrderSimpleQueryRepository {
                         " JOIN o.delivery d", OrderSimpleQueryDto.class)
                 .getResultList();
     }
+
+    // 행을 DTO 로 만들지 않고 JsonGenerator 에 바로 쓴다(OrderSimpleQueryDto 목록과 같은 JSON)
+    @Transactional(readOnly = true)
+    public void writeOrderDtos(JsonGenerator generator) throws IOException {
+        try (Stream<Object[]> rows = em.createQuery("SELECT " + OrderJson.ORDER_COLUMNS +
+                        " FROM Order o" +
+                        " JOIN o.member m" +
+                        " JOIN o.delivery d", Object[].class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, STREAM_FETCH_SIZE)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream()) {
+
+            generator.writeStartArray();
+            for (Iterator<Object[]> it = rows.iterator(); it.hasNext(); ) {
+                generator.writeStartObject();
+                OrderJson.writeOrderFields(generator, it.next());
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+        }
+    }
 }
@@ -0,0 +1,19 @@
+package jpabook.jpastudy.repository.order.stats;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Data
+public class DailyRevenueDto {
+
+    private LocalDate day;
+    private long orderCount;
+    private long totalPrice;
+
+    public DailyRevenueDto(LocalDate day, Long orderCount, Long totalPrice) {
+        this.day = day;
+        this.orderCount = orderCount;
+        this.totalPrice = totalPrice == null ? 0 : totalPrice;
+    }
+}
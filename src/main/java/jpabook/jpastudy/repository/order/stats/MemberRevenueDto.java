@@ -0,0 +1,19 @@
+package jpabook.jpastudy.repository.order.stats;
+
+import lombok.Data;
+
+@Data
+public class MemberRevenueDto {
+
+    private Long memberId;
+    private String name;
+    private long orderCount;
+    private long totalPrice;
+
+    public MemberRevenueDto(Long memberId, String name, Long orderCount, Long totalPrice) {
+        this.memberId = memberId;
+        this.name = name;
+        this.orderCount = orderCount;
+        this.totalPrice = totalPrice == null ? 0 : totalPrice;
+    }
+}
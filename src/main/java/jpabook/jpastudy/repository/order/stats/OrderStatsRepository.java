@@ -0,0 +1,59 @@
+package jpabook.jpastudy.repository.order.stats;
+
+import jakarta.persistence.EntityManager;
+import jpabook.jpastudy.domain.OrderStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 주문 집계 조회.
+ * - orders.total_price 컬럼을 SQL GROUP BY 로 더한다. 주문, 주문상품 엔티티를 읽지 않는다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class OrderStatsRepository {
+
+    private final EntityManager em;
+
+    // 상태별 주문 수, 금액
+    public List<OrderStatusStatsDto> findByStatus() {
+        return em.createQuery("SELECT" +
+                        " NEW jpabook.jpastudy.repository.order.stats.OrderStatusStatsDto(o.status, count(o), sum(o.totalPrice))" +
+                        " FROM Order o" +
+                        " GROUP BY o.status" +
+                        " ORDER BY o.status", OrderStatusStatsDto.class)
+                .getResultList();
+    }
+
+    // 회원별 금액 상위 limit 명
+    public List<MemberRevenueDto> findTopMembers(OrderStatus status, int limit) {
+        return em.createQuery("SELECT" +
+                        " NEW jpabook.jpastudy.repository.order.stats.MemberRevenueDto(m.id, m.name, count(o), sum(o.totalPrice))" +
+                        " FROM Order o" +
+                        " JOIN o.member m" +
+                        " WHERE o.status = :status" +
+                        " GROUP BY m.id, m.name" +
+                        " ORDER BY sum(o.totalPrice) DESC, m.id", MemberRevenueDto.class)
+                .setParameter("status", status)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    // 일별 금액 [from, to]
+    public List<DailyRevenueDto> findDaily(OrderStatus status, LocalDate from, LocalDate to) {
+        return em.createQuery("SELECT" +
+                        " NEW jpabook.jpastudy.repository.order.stats.DailyRevenueDto(cast(o.orderDate as LocalDate), count(o), sum(o.totalPrice))" +
+                        " FROM Order o" +
+                        " WHERE o.status = :status" +
+                        " AND o.orderDate >= :from AND o.orderDate < :to" +
+                        " GROUP BY cast(o.orderDate as LocalDate)" +
+                        " ORDER BY cast(o.orderDate as LocalDate)", DailyRevenueDto.class)
+                .setParameter("status", status)
+                .setParameter("from", from.atStartOfDay())
+                .setParameter("to", to.plusDays(1).atStartOfDay())
+                .getResultList();
+    }
+}
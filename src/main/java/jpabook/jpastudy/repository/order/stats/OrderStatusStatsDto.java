@@ -0,0 +1,18 @@
+package jpabook.jpastudy.repository.order.stats;
+
+import jpabook.jpastudy.domain.OrderStatus;
+import lombok.Data;
+
+@Data
+public class OrderStatusStatsDto {
+
+    private OrderStatus status;
+    private long orderCount;
+    private long totalPrice;
+
+    public OrderStatusStatsDto(OrderStatus status, Long orderCount, Long totalPrice) {
+        this.status = status;
+        this.orderCount = orderCount;
+        this.totalPrice = totalPrice == null ? 0 : totalPrice;
+    }
+}
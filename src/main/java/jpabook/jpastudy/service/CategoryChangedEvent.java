@@ -0,0 +1,7 @@
+package jpabook.jpastudy.service;
+
+/**
+ * 카테고리 또는 카테고리-상품 연결이 바뀌면 발행한다.
+ */
+public record CategoryChangedEvent(Long categoryId) {
+}
@@ -0,0 +1,31 @@
+package jpabook.jpastudy.service;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 카테고리 트리의 노드(불변).
+ * - path 는 루트부터 자기 자신까지의 카테고리 id 다.
+ */
+@Getter
+public final class CategoryNode {
+
+    private final Long id;
+    private final String name;
+    @JsonIgnore
+    private final Long parentId;
+    private final List<Long> path;
+    private final List<Long> itemIds;
+    private final List<CategoryNode> children;
+
+    CategoryNode(Long id, String name, Long parentId, List<Long> path, List<Long> itemIds, List<CategoryNode> children) {
+        this.id = id;
+        this.name = name;
+        this.parentId = parentId;
+        this.path = List.copyOf(path);
+        this.itemIds = List.copyOf(itemIds);
+        this.children = List.copyOf(children);
+    }
+}
@@ -0,0 +1,51 @@
+package jpabook.jpastudy.service;
+
+import jpabook.jpastudy.domain.Category;
+import jpabook.jpastudy.domain.item.Item;
+import jpabook.jpastudy.repository.ItemRepository;
+import jpabook.jpastudy.repository.category.CategoryRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class CategoryService {
+
+    private final CategoryRepository categoryRepository;
+    private final ItemRepository itemRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional
+    public Long saveCategory(String name, Long parentId) {
+        Category category = new Category();
+        category.setName(name);
+        if (parentId != null) {
+            Category parent = categoryRepository.findOne(parentId);
+            if (parent == null) {
+                throw new IllegalArgumentException("존재하지 않는 상위 카테고리입니다. id=" + parentId);
+            }
+            parent.addChildCategory(category);
+        }
+
+        categoryRepository.save(category);
+        eventPublisher.publishEvent(new CategoryChangedEvent(category.getId()));
+        return category.getId();
+    }
+
+    @Transactional
+    public void addItem(Long categoryId, Long itemId) {
+        Category category = categoryRepository.findOne(categoryId);
+        if (category == null) {
+            throw new IllegalArgumentException("존재하지 않는 카테고리입니다. id=" + categoryId);
+        }
+        Item item = itemRepository.findOne(itemId);
+        if (item == null) {
+            throw new IllegalArgumentException("존재하지 않는 상품입니다. id=" + itemId);
+        }
+        category.getItems().add(item);
+        eventPublisher.publishEvent(new CategoryChangedEvent(categoryId));
+    }
+}
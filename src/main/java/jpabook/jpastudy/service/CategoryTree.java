@@ -0,0 +1,97 @@
+package jpabook.jpastudy.service;
+
+import jpabook.jpastudy.repository.category.CategoryFlatDto;
+import jpabook.jpastudy.repository.category.CategoryItemDto;
+
+import java.util.*;
+
+/**
+ * 메모리에 올린 카테고리 트리(불변).
+ * - 한 번의 조회 결과(카테고리, 카테고리-상품 연결)로 만들고, 이후 조회는 DB 를 거치지 않는다.
+ */
+public final class CategoryTree {
+
+    private final List<CategoryNode> roots;
+    private final Map<Long, CategoryNode> nodes;
+
+    private CategoryTree(List<CategoryNode> roots, Map<Long, CategoryNode> nodes) {
+        this.roots = List.copyOf(roots);
+        this.nodes = Map.copyOf(nodes);
+    }
+
+    public static CategoryTree build(List<CategoryFlatDto> categories, List<CategoryItemDto> categoryItems) {
+        Map<Long, CategoryFlatDto> rows = new HashMap<>();
+        Map<Long, List<Long>> childIds = new HashMap<>();
+        List<Long> rootIds = new ArrayList<>();
+        for (CategoryFlatDto c : categories) {
+            rows.put(c.getId(), c);
+            if (c.getParentId() == null) {
+                rootIds.add(c.getId());
+            } else {
+                childIds.computeIfAbsent(c.getParentId(), k -> new ArrayList<>()).add(c.getId());
+            }
+        }
+
+        Map<Long, List<Long>> itemIds = new HashMap<>();
+        for (CategoryItemDto ci : categoryItems) {
+            itemIds.computeIfAbsent(ci.getCategoryId(), k -> new ArrayList<>()).add(ci.getItemId());
+        }
+
+        Map<Long, CategoryNode> nodes = new HashMap<>();
+        List<CategoryNode> roots = new ArrayList<>();
+        for (Long rootId : rootIds) {
+            roots.add(buildNode(rootId, List.of(), rows, childIds, itemIds, nodes));
+        }
+        return new CategoryTree(roots, nodes);
+    }
+
+    private static CategoryNode buildNode(Long id, List<Long> parentPath,
+                                          Map<Long, CategoryFlatDto> rows,
+                                          Map<Long, List<Long>> childIds,
+                                          Map<Long, List<Long>> itemIds,
+                                          Map<Long, CategoryNode> nodes) {
+        List<Long> path = new ArrayList<>(parentPath);
+        path.add(id);
+
+        List<CategoryNode> children = new ArrayList<>();
+        for (Long childId : childIds.getOrDefault(id, List.of())) {
+            // 잘못된 데이터로 순환이 생겨도 무한 재귀하지 않도록
+            if (!path.contains(childId)) {
+                children.add(buildNode(childId, path, rows, childIds, itemIds, nodes));
+            }
+        }
+
+        CategoryFlatDto row = rows.get(id);
+        CategoryNode node = new CategoryNode(id, row.getName(), row.getParentId(), path, itemIds.getOrDefault(id, List.of()), children);
+        nodes.put(id, node);
+        return node;
+    }
+
+    public List<CategoryNode> getRoots() {
+        return roots;
+    }
+
+    public Optional<CategoryNode> find(Long categoryId) {
+        return Optional.ofNullable(nodes.get(categoryId));
+    }
+
+    // 하위 카테고리를 포함한 상품 id(중복 제거, 트리 순서)
+    public Set<Long> itemIdsUnder(Long categoryId) {
+        CategoryNode node = nodes.get(categoryId);
+        if (node == null) {
+            return Set.of();
+        }
+
+        Set<Long> result = new LinkedHashSet<>();
+        Deque<CategoryNode> stack = new ArrayDeque<>();
+        stack.push(node);
+        while (!stack.isEmpty()) {
+            CategoryNode current = stack.pop();
+            result.addAll(current.getItemIds());
+            for (int i = current.getChildren().size() - 1; i >= 0; i--) {
+                stack.push(current.getChildren().get(i));
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,81 @@
+package jpabook.jpastudy.service;
+
+import jpabook.jpastudy.domain.item.Item;
+import jpabook.jpastudy.repository.ItemRepository;
+import jpabook.jpastudy.repository.category.CategoryRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 카테고리 트리 캐시.
+ * - 전체 계층과 카테고리-상품 연결을 쿼리 두 번으로 읽어 불변 트리로 만든다.
+ * - 카테고리가 바뀌면(커밋 이후) stale 로 표시하고 다음 조회에서 다시 만든다. 다시 만드는 동안 다른 요청은 이전 트리를 본다.
+ * - CategoryService 를 거치지 않은 변경에 대비해 주기적으로도 다시 만든다.
+ */
+@Service
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class CategoryTreeService {
+
+    private final CategoryRepository categoryRepository;
+    private final ItemRepository itemRepository;
+
+    private final AtomicBoolean stale = new AtomicBoolean(true);
+    private final ReentrantLock reloadLock = new ReentrantLock();
+    private volatile CategoryTree tree;
+
+    public CategoryTree getTree() {
+        CategoryTree current = tree;
+        if (current != null && !stale.get()) {
+            return current;
+        }
+
+        // 처음 만들 때만 기다리고, 이미 트리가 있으면 다시 만드는 중에는 이전 트리를 돌려준다
+        if (current == null) {
+            reloadLock.lock();
+        } else if (!reloadLock.tryLock()) {
+            return current;
+        }
+        try {
+            if (tree == null || stale.get()) {
+                stale.set(false);
+                try {
+                    tree = CategoryTree.build(categoryRepository.findAllFlat(), categoryRepository.findAllCategoryItems());
+                } catch (RuntimeException e) {
+                    stale.set(true);
+                    throw e;
+                }
+            }
+            return tree;
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    public Optional<CategoryNode> findSubtree(Long categoryId) {
+        return getTree().find(categoryId);
+    }
+
+    // 하위 카테고리를 포함한 상품
+    public List<Item> findItemsUnder(Long categoryId) {
+        return itemRepository.findAllById(getTree().itemIdsUnder(categoryId));
+    }
+
+    @TransactionalEventListener
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        stale.set(true);
+    }
+
+    @Scheduled(fixedDelayString = "${jpastudy.category-tree.refresh-interval-ms:300000}")
+    public void expire() {
+        stale.set(true);
+    }
+}
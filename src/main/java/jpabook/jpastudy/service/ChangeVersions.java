@@ -0,0 +1,70 @@
+package jpabook.jpastudy.service;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 애그리거트별 변경 버전(조건부 GET 의 ETag 용).
+ * - 변경하는 서비스가 bump 하면 커밋된 뒤에 버전이 오른다(롤백되면 그대로).
+ * - ETag 에는 시작할 때 정한 epoch 를 붙여서, 재시작해서 버전이 0 부터 다시 세어져도 이전 ETag 와 겹치지 않게 한다.
+ * - 응답을 만들기 전에 읽은 버전으로 ETag 를 만든다. 조회 도중 커밋되면 다음 요청에서 다시 200 이 나갈 뿐 오래된 데이터가 304 로 남지 않는다.
+ * - 서비스를 거치지 않은 변경(직접 SQL 등)은 모른다.
+ * - 버전은 이 JVM 안의 카운터다. 인스턴스가 여럿이면 다른 인스턴스의 변경을 모르고 304 를 줄 수 있으므로 단일 노드에서만 쓴다
+ *   (여러 대로 늘리면 DB 의 버전 테이블 등 공유 저장소로 옮겨야 한다).
+ */
+@Component
+public class ChangeVersions {
+
+    public enum Aggregate {
+        MEMBER, ORDER, ITEM
+    }
+
+    private final String epoch = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+    private final Map<Aggregate, AtomicLong> versions = new EnumMap<>(Aggregate.class);
+
+    public ChangeVersions() {
+        for (Aggregate aggregate : Aggregate.values()) {
+            versions.put(aggregate, new AtomicLong());
+        }
+    }
+
+    public void bump(Aggregate aggregate) {
+        AtomicLong version = versions.get(aggregate);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    version.incrementAndGet();
+                }
+            });
+        } else {
+            version.incrementAndGet();
+        }
+    }
+
+    // 주문 생성/취소는 이벤트로 받는다(OrderService, OrderBatchService)
+    @TransactionalEventListener
+    public void onOrderChanged(OrderChangedEvent event) {
+        versions.get(Aggregate.ORDER).incrementAndGet();
+    }
+
+    public long version(Aggregate aggregate) {
+        return versions.get(aggregate).get();
+    }
+
+    // 응답이 의존하는 애그리거트들의 현재 버전으로 만든 약한 ETag
+    public String etag(Aggregate... dependsOn) {
+        StringBuilder sb = new StringBuilder("W/\"").append(epoch);
+        for (Aggregate aggregate : dependsOn) {
+            sb.append('-').append(Character.toLowerCase(aggregate.name().charAt(0))).append(version(aggregate));
+        }
+        return sb.append('"').toString();
+    }
+}
@@ -1,12 +1,15 @@
 package jpabook.jpastudy.service;
 
 import jpabook.jpastudy.domain.item.Item;
+import jpabook.jpastudy.inventory.StockLedger;
 import jpabook.jpastudy.repository.ItemRepository;
+import jpabook.jpastudy.repository.ItemSearch;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Optional;
 
 @Service
 @Transactional(readOnly = true)
@@ -14,10 +17,13 @@ import java.util.List;
 public class ItemService {
 
     private final ItemRepository itemRepository;
+    private final Optional<StockLedger> stockLedger;
+    private final ChangeVersions changeVersions;
 
     @Transactional
     public Long saveItem(Item item) {
         itemRepository.save(item);
+        changeVersions.bump(ChangeVersions.Aggregate.ITEM);
         return item.getId();
     }
 
@@ -27,12 +33,22 @@ public class ItemService {
         item.setName(name);
         item.setPrice(price);
         item.setStockQuantity(stockQuantity);
+        stockLedger.ifPresent(ledger -> ledger.reset(id, stockQuantity));
+        changeVersions.bump(ChangeVersions.Aggregate.ITEM);
     }
 
     public List<Item> findItems() {
         return itemRepository.findAll();
     }
 
+    public List<Item> findItems(ItemSearch itemSearch, Long lastItemId, int limit) {
+        return itemRepository.findPage(itemSearch, lastItemId, limit);
+    }
+
+    public List<Item> searchByName(String prefix, int limit) {
+        return itemRepository.findByNamePrefix(prefix, limit);
+    }
+
     public Item findOne(Long itemId) {
         return itemRepository.findOne(itemId);
     }
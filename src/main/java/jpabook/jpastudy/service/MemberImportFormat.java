@@ -0,0 +1,17 @@
+package jpabook.jpastudy.service;
+
+/**
+ * 일괄 가입 입력 형식.
+ * - CSV: name,city,street,zipcode (첫 줄이 name 으로 시작하면 헤더로 보고 건너뜀)
+ * - NDJSON: 줄마다 {"name": ..., "address": {"city": ..., "street": ..., "zipcode": ...}}
+ */
+public enum MemberImportFormat {
+    CSV, NDJSON;
+
+    public static MemberImportFormat fromContentType(String contentType) {
+        if (contentType != null && contentType.toLowerCase().startsWith("text/csv")) {
+            return CSV;
+        }
+        return NDJSON;
+    }
+}
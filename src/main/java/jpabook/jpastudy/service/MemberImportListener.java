@@ -0,0 +1,11 @@
+package jpabook.jpastudy.service;
+
+/**
+ * 일괄 가입 결과를 받는 쪽. 묶음마다 호출되므로 결과를 모아 두지 않고 바로 내보낼 수 있다.
+ */
+public interface MemberImportListener {
+
+    void rejected(MemberImportReject reject);
+
+    void progress(MemberImportProgress progress);
+}
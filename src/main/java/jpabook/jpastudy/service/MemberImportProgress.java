@@ -0,0 +1,7 @@
+package jpabook.jpastudy.service;
+
+/**
+ * 일괄 가입 진행 상황(누적).
+ */
+public record MemberImportProgress(long processed, long imported, long rejected) {
+}
@@ -0,0 +1,7 @@
+package jpabook.jpastudy.service;
+
+/**
+ * 일괄 가입에서 거절된 줄.
+ */
+public record MemberImportReject(long line, String name, String reason) {
+}
@@ -0,0 +1,21 @@
+package jpabook.jpastudy.service;
+
+import jpabook.jpastudy.domain.Address;
+
+/**
+ * 일괄 가입 입력 한 줄.
+ * @param line 입력에서의 줄 번호(1부터)
+ */
+public record MemberImportRow(long line, String name, String city, String street, String zipcode) {
+
+    public Address address() {
+        if (isBlank(city) && isBlank(street) && isBlank(zipcode)) {
+            return null;
+        }
+        return new Address(city, street, zipcode);
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
@@ -0,0 +1,301 @@
+package jpabook.jpastudy.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jpabook.jpastudy.domain.Member;
+import jpabook.jpastudy.repository.MemberNameFilter;
+import jpabook.jpastudy.repository.MemberNameIndex;
+import jpabook.jpastudy.repository.MemberRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 회원 일괄 가입.
+ * - 입력을 한 줄씩 읽어 chunkSize 건씩 처리한다. 파일 전체를 메모리에 올리지 않는다.
+ * - 묶음 안의 중복 이름은 메모리에서 거르고, DB 에 있는 이름은 묶음마다 IN 쿼리 한 번으로 확인한다(블룸 필터가 없다고 한 이름은 조회 생략).
+ * - 묶음마다 트랜잭션을 따로 커밋하고 flush / clear 한다(JDBC 배치로 insert). 앞 묶음의 이름은 DB 확인에서 걸러진다.
+ * - 다른 요청과 이름이 겹쳐 유니크 제약에 걸리면 그 묶음만 한 건씩 다시 처리한다.
+ */
+@Slf4j
+@Service
+public class MemberImportService {
+
+    private static final int MAX_NAME_LENGTH = 255;
+    private static final List<String> CSV_HEADER = List.of("name", "city", "street", "zipcode");
+
+    private final MemberRepository memberRepository;
+    private final MemberNameFilter memberNameFilter;
+    private final MemberNameIndex memberNameIndex;
+    private final ChangeVersions changeVersions;
+    private final EntityManager em;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public MemberImportService(MemberRepository memberRepository,
+                               MemberNameFilter memberNameFilter,
+                               MemberNameIndex memberNameIndex,
+                               ChangeVersions changeVersions,
+                               EntityManager em,
+                               ObjectMapper objectMapper,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${jpastudy.member.import-chunk-size:1000}") int chunkSize) {
+        this.memberRepository = memberRepository;
+        this.memberNameFilter = memberNameFilter;
+        this.memberNameIndex = memberNameIndex;
+        this.changeVersions = changeVersions;
+        this.em = em;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    public MemberImportProgress importMembers(BufferedReader reader, MemberImportFormat format,
+                                              MemberImportListener listener) throws IOException {
+        Counter counter = new Counter();
+        List<MemberImportRow> chunk = new ArrayList<>(chunkSize);
+
+        String text;
+        long line = 0;
+        while ((text = reader.readLine()) != null) {
+            line++;
+            if (text.isBlank() || (line == 1 && format == MemberImportFormat.CSV && isCsvHeader(text))) {
+                continue;
+            }
+
+            MemberImportRow row;
+            try {
+                row = format == MemberImportFormat.CSV ? parseCsv(line, text) : parseNdjson(line, text);
+            } catch (IllegalArgumentException | JsonProcessingException e) {
+                counter.processed++;
+                reject(listener, counter, new MemberImportReject(line, null, "형식이 올바르지 않습니다."));
+                continue;
+            }
+
+            chunk.add(row);
+            if (chunk.size() == chunkSize) {
+                importChunk(chunk, listener, counter);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, listener, counter);
+        }
+
+        return counter.snapshot();
+    }
+
+    private void importChunk(List<MemberImportRow> chunk, MemberImportListener listener, Counter counter) {
+        counter.processed += chunk.size();
+
+        // 형식 검증, 묶음 안 중복 제거
+        List<MemberImportRow> candidates = new ArrayList<>(chunk.size());
+        Set<String> names = new HashSet<>();
+        for (MemberImportRow row : chunk) {
+            String reason = validate(row);
+            if (reason != null) {
+                reject(listener, counter, new MemberImportReject(row.line(), row.name(), reason));
+            } else if (!names.add(row.name())) {
+                reject(listener, counter, new MemberImportReject(row.line(), row.name(), "입력에 중복된 이름입니다."));
+            } else {
+                candidates.add(row);
+            }
+        }
+
+        try {
+            // 거절은 커밋된 뒤에 알린다(다시 처리할 때 두 번 알리지 않도록)
+            Set<String> saved = transactionTemplate.execute(status -> saveAll(candidates));
+            for (MemberImportRow row : candidates) {
+                if (saved.contains(row.name())) {
+                    counter.imported++;
+                    memberNameFilter.put(row.name());
+                } else {
+                    reject(listener, counter, new MemberImportReject(row.line(), row.name(), "이미 존재하는 회원입니다."));
+                }
+            }
+        } catch (DataIntegrityViolationException e) {
+            log.info("일괄 가입 묶음이 유니크 제약에 걸려 한 건씩 다시 처리합니다: {}", e.getMessage());
+            em.clear();
+            for (MemberImportRow row : candidates) {
+                importOne(row, listener, counter);
+            }
+        }
+
+        listener.progress(counter.snapshot());
+    }
+
+    // 저장한 이름을 돌려준다
+    private Set<String> saveAll(List<MemberImportRow> candidates) {
+        List<String> unknown = candidates.stream()
+                .map(MemberImportRow::name)
+                .filter(memberNameFilter::mightContain)
+                .toList();
+        Set<String> existing = unknown.isEmpty() ? Set.of() : new HashSet<>(memberRepository.findExistingNames(unknown));
+
+        Set<String> saved = new HashSet<>();
+        List<Member> members = new ArrayList<>();
+        for (MemberImportRow row : candidates) {
+            if (!existing.contains(row.name())) {
+                Member member = newMember(row);
+                memberRepository.save(member);
+                members.add(member);
+                saved.add(row.name());
+            }
+        }
+
+        memberRepository.flush();
+        members.forEach(member -> memberNameIndex.putAfterCommit(member.getId(), member.getName()));
+        em.clear();
+        changeVersions.bump(ChangeVersions.Aggregate.MEMBER);
+        return saved;
+    }
+
+    private void importOne(MemberImportRow row, MemberImportListener listener, Counter counter) {
+        try {
+            Boolean saved = transactionTemplate.execute(status -> {
+                if (memberRepository.existsByName(row.name())) {
+                    return false;
+                }
+                Member member = newMember(row);
+                memberRepository.save(member);
+                memberRepository.flush();
+                memberNameIndex.putAfterCommit(member.getId(), member.getName());
+                changeVersions.bump(ChangeVersions.Aggregate.MEMBER);
+                return true;
+            });
+            if (Boolean.TRUE.equals(saved)) {
+                counter.imported++;
+                memberNameFilter.put(row.name());
+                return;
+            }
+        } catch (DataIntegrityViolationException e) {
+            // 다른 요청이 먼저 가입시킨 이름
+        } finally {
+            em.clear();
+        }
+        reject(listener, counter, new MemberImportReject(row.line(), row.name(), "이미 존재하는 회원입니다."));
+    }
+
+    private static String validate(MemberImportRow row) {
+        if (row.name() == null || row.name().isBlank()) {
+            return "이름은 필수입니다.";
+        }
+        if (row.name().length() > MAX_NAME_LENGTH) {
+            return "이름이 너무 깁니다.";
+        }
+        return null;
+    }
+
+    private static Member newMember(MemberImportRow row) {
+        Member member = new Member();
+        member.setName(row.name());
+        member.setAddress(row.address());
+        return member;
+    }
+
+    private static void reject(MemberImportListener listener, Counter counter, MemberImportReject reject) {
+        counter.rejected++;
+        listener.rejected(reject);
+    }
+
+    private MemberImportRow parseNdjson(long line, String text) throws JsonProcessingException {
+        JsonNode node = objectMapper.readTree(text);
+        if (!node.isObject()) {
+            throw new IllegalArgumentException("JSON 객체가 아닙니다.");
+        }
+        JsonNode address = node.path("address");
+        return new MemberImportRow(line,
+                trimToNull(node.path("name").asText(null)),
+                address.path("city").asText(null),
+                address.path("street").asText(null),
+                address.path("zipcode").asText(null));
+    }
+
+    private static MemberImportRow parseCsv(long line, String text) {
+        List<String> fields = splitCsv(text);
+        if (fields.size() > 4) {
+            throw new IllegalArgumentException("열이 너무 많습니다.");
+        }
+        return new MemberImportRow(line,
+                trimToNull(fields.get(0)),
+                fields.size() > 1 ? fields.get(1) : null,
+                fields.size() > 2 ? fields.get(2) : null,
+                fields.size() > 3 ? fields.get(3) : null);
+    }
+
+    // 따옴표로 감싼 필드("a,b", "" 는 따옴표 하나)를 지원하는 한 줄 CSV 분리
+    static List<String> splitCsv(String text) {
+        List<String> fields = new ArrayList<>(4);
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("따옴표가 닫히지 않았습니다.");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    // 첫 줄이 정확히 헤더 열 이름일 때만 건너뛴다("namek" 같은 회원 이름은 데이터)
+    private static boolean isCsvHeader(String text) {
+        try {
+            return splitCsv(text).stream()
+                    .map(field -> field.trim().toLowerCase(Locale.ROOT))
+                    .toList()
+                    .equals(CSV_HEADER);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static String trimToNull(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+
+    private static class Counter {
+        long processed;
+        long imported;
+        long rejected;
+
+        MemberImportProgress snapshot() {
+            return new MemberImportProgress(processed, imported, rejected);
+        }
+    }
+}
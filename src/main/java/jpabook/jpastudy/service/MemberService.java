@@ -1,8 +1,11 @@
 package jpabook.jpastudy.service;
 
 import jpabook.jpastudy.domain.Member;
+import jpabook.jpastudy.repository.MemberNameFilter;
+import jpabook.jpastudy.repository.MemberNameIndex;
 import jpabook.jpastudy.repository.MemberRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -14,27 +17,49 @@ import java.util.List;
 public class MemberService {
 
     private final MemberRepository memberRepository;
+    private final MemberNameFilter memberNameFilter;
+    private final MemberNameIndex memberNameIndex;
+    private final ChangeVersions changeVersions;
 
     @Transactional
     public Long join(Member member) {
-        validateDuplicateMember(member);
+        validateDuplicateMember(member.getName());
         memberRepository.save(member);
+        flushUnique(member.getName());
+        memberNameIndex.putAfterCommit(member.getId(), member.getName());
+        changeVersions.bump(ChangeVersions.Aggregate.MEMBER);
         return member.getId();
     }
 
     @Transactional
     public void update(Long id, String name) {
         Member member = memberRepository.findOne(id);
+        if (name != null && !name.equals(member.getName())) {
+            validateDuplicateMember(name);
+        }
         member.setName(name);
+        flushUnique(name);
+        memberNameIndex.putAfterCommit(id, name);
+        changeVersions.bump(ChangeVersions.Aggregate.MEMBER);
     }
 
-    private void validateDuplicateMember(Member member) {
-        List<Member> findMembers = memberRepository.findByName(member.getName());
-        if (!findMembers.isEmpty()) {
+    // 블룸 필터가 확실히 없다고 하면 DB 조회를 건너뛴다
+    private void validateDuplicateMember(String name) {
+        if (memberNameFilter.mightContain(name) && memberRepository.existsByName(name)) {
             throw new IllegalStateException("이미 존재하는 회원입니다.");
         }
     }
 
+    // 동시에 같은 이름으로 가입하면 유니크 제약이 막는다. 이를 같은 예외로 바꾼다.
+    private void flushUnique(String name) {
+        memberNameFilter.put(name);
+        try {
+            memberRepository.flush();
+        } catch (DataIntegrityViolationException e) {
+            throw new IllegalStateException("이미 존재하는 회원입니다.", e);
+        }
+    }
+
     public List<Member> findMembers() {
         return memberRepository.findAll();
     }
@@ -0,0 +1,129 @@
+package jpabook.jpastudy.service;
+
+import jakarta.persistence.EntityManager;
+import jpabook.jpastudy.domain.*;
+import jpabook.jpastudy.domain.item.Item;
+import jpabook.jpastudy.inventory.StockLedger;
+import jpabook.jpastudy.repository.ItemRepository;
+import jpabook.jpastudy.repository.MemberRepository;
+import jpabook.jpastudy.repository.order.OrderRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+
+import static java.util.stream.Collectors.toMap;
+import static java.util.stream.Collectors.toSet;
+
+/**
+ * 일괄 주문.
+ * - flushSize 건씩 묶어서 회원, 상품을 한 번에 조회하고 flush / clear 한다(JDBC 배치로 insert).
+ * - 재고는 단건 주문과 같은 방법(재고 원장 또는 조건부 UPDATE)으로 차감한다.
+ * - 재고 부족 등 한 건의 실패는 결과로 남기고 나머지 주문은 계속 처리한다.
+ */
+@Service
+@Transactional(readOnly = true)
+public class OrderBatchService {
+
+    private final MemberRepository memberRepository;
+    private final ItemRepository itemRepository;
+    private final OrderRepository orderRepository;
+    private final EntityManager em;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Optional<StockLedger> stockLedger;
+    private final int flushSize;
+
+    public OrderBatchService(MemberRepository memberRepository,
+                             ItemRepository itemRepository,
+                             OrderRepository orderRepository,
+                             EntityManager em,
+                             ApplicationEventPublisher eventPublisher,
+                             Optional<StockLedger> stockLedger,
+                             @Value("${jpastudy.order.batch-flush-size:100}") int flushSize) {
+        this.memberRepository = memberRepository;
+        this.itemRepository = itemRepository;
+        this.orderRepository = orderRepository;
+        this.em = em;
+        this.eventPublisher = eventPublisher;
+        this.stockLedger = stockLedger;
+        if (flushSize <= 0) {
+            throw new IllegalArgumentException("jpastudy.order.batch-flush-size 는 1 이상이어야 합니다: " + flushSize);
+        }
+        this.flushSize = flushSize;
+    }
+
+    @Transactional
+    public List<OrderPlacement> orderAll(List<OrderLine> lines) {
+        List<OrderPlacement> results = new ArrayList<>(lines.size());
+
+        for (int from = 0; from < lines.size(); from += flushSize) {
+            List<OrderLine> chunk = lines.subList(from, Math.min(from + flushSize, lines.size()));
+
+            // 묶음에서 참조하는 회원, 상품을 각각 쿼리 한 번으로 조회
+            Map<Long, Member> members = memberRepository.findAllById(chunk.stream().map(OrderLine::memberId).filter(Objects::nonNull).collect(toSet()))
+                    .stream().collect(toMap(Member::getId, Function.identity()));
+            Map<Long, Item> items = itemRepository.findAllById(chunk.stream().map(OrderLine::itemId).filter(Objects::nonNull).collect(toSet()))
+                    .stream().collect(toMap(Item::getId, Function.identity()));
+
+            // 재고를 먼저 조건부 UPDATE 로 차감하고, 주문 insert 는 그 뒤에 모아서 flush 한다
+            List<OrderPlacement> placements = new ArrayList<>(chunk.size());
+            for (int i = 0; i < chunk.size(); i++) {
+                placements.add(reserve(from + i, chunk.get(i), members, items));
+            }
+            for (int i = 0; i < chunk.size(); i++) {
+                if (placements.get(i) == null) {
+                    placements.set(i, place(from + i, chunk.get(i), members, items));
+                }
+            }
+            results.addAll(placements);
+
+            em.flush();
+            em.clear();
+        }
+
+        return results;
+    }
+
+    // 재고 차감까지 한다. 실패하면 결과, 성공하면 null
+    private OrderPlacement reserve(int index, OrderLine line, Map<Long, Member> members, Map<Long, Item> items) {
+        Member member = members.get(line.memberId());
+        if (member == null) {
+            return OrderPlacement.failure(index, "존재하지 않는 회원입니다.");
+        }
+        Item item = items.get(line.itemId());
+        if (item == null) {
+            return OrderPlacement.failure(index, "존재하지 않는 상품입니다.");
+        }
+        if (line.count() <= 0) {
+            return OrderPlacement.failure(index, "주문 수량은 1 이상이어야 합니다.");
+        }
+
+        // 읽고-수정-쓰기(Item.removeStock)를 쓰지 않는다: 동시 주문의 조건부 UPDATE 와 갱신 손실이 생긴다
+        boolean reserved = stockLedger
+                .map(ledger -> ledger.reserve(item.getId(), line.count()))
+                .orElseGet(() -> itemRepository.decreaseStock(item, line.count()));
+        return reserved ? null : OrderPlacement.failure(index, "need more stock");
+    }
+
+    private OrderPlacement place(int index, OrderLine line, Map<Long, Member> members, Map<Long, Item> items) {
+        Member member = members.get(line.memberId());
+        Item item = items.get(line.itemId());
+        OrderItem orderItem = OrderItem.createReservedOrderItem(item, item.getPrice(), line.count());
+
+        Delivery delivery = new Delivery();
+        delivery.setAddress(member.getAddress());
+        delivery.setStatus(DeliveryStatus.READY);
+
+        Order order = Order.createOrder(member, delivery, orderItem);
+        orderRepository.save(order);
+        eventPublisher.publishEvent(new OrderChangedEvent(order.getId(), OrderChangedEvent.Type.ORDER));
+        return OrderPlacement.success(index, order.getId());
+    }
+}
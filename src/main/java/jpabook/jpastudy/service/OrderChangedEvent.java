@@ -0,0 +1,12 @@
+package jpabook.jpastudy.service;
+
+/**
+ * 주문이 생성되거나 취소되면 발행한다.
+ * - 조회용 캐시 등은 @TransactionalEventListener 로 커밋 이후에만 반응한다.
+ */
+public record OrderChangedEvent(Long orderId, Type type) {
+
+    public enum Type {
+        ORDER, CANCEL
+    }
+}
@@ -0,0 +1,7 @@
+package jpabook.jpastudy.service;
+
+/**
+ * 일괄 주문의 한 건
+ */
+public record OrderLine(Long memberId, Long itemId, int count) {
+}
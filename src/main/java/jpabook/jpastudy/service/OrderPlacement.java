@@ -0,0 +1,19 @@
+package jpabook.jpastudy.service;
+
+/**
+ * 일괄 주문 한 건의 처리 결과. 실패하면 orderId 는 null 이고 error 에 사유가 담긴다.
+ */
+public record OrderPlacement(int index, Long orderId, String error) {
+
+    public static OrderPlacement success(int index, Long orderId) {
+        return new OrderPlacement(index, orderId, null);
+    }
+
+    public static OrderPlacement failure(int index, String error) {
+        return new OrderPlacement(index, null, error);
+    }
+
+    public boolean isSuccess() {
+        return error == null;
+    }
+}
@@ -2,15 +2,23 @@ package jpabook.jpastudy.service;
 
 import jpabook.jpastudy.domain.*;
 import jpabook.jpastudy.domain.item.Item;
+import jpabook.jpastudy.exception.NotEnoughStockException;
+import jpabook.jpastudy.inventory.StockLedger;
 import jpabook.jpastudy.repository.ItemRepository;
+import jpabook.jpastudy.repository.MemberNameIndex;
 import jpabook.jpastudy.repository.MemberRepository;
+import jpabook.jpastudy.repository.order.OrderCursor;
 import jpabook.jpastudy.repository.order.OrderRepository;
 import jpabook.jpastudy.repository.order.OrderSearch;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 @Service
 @Transactional(readOnly = true)
@@ -20,6 +28,9 @@ public class OrderService {
     private final MemberRepository memberRepository;
     private final OrderRepository orderRepository;
     private final ItemRepository itemRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Optional<StockLedger> stockLedger;
+    private final MemberNameIndex memberNameIndex;
 
     // 주문
     @Transactional
@@ -32,14 +43,18 @@ public class OrderService {
         delivery.setAddress(member.getAddress());
         delivery.setStatus(DeliveryStatus.READY);
 
-        // 주문상품 생성
-        OrderItem orderItem = OrderItem.createOrderItem(item, item.getPrice(), count);
+        // 재고 차감(인메모리 원장 또는 조건부 UPDATE) 후 주문상품 생성
+        if (!reserveStock(item, count)) {
+            throw new NotEnoughStockException("need more stock");
+        }
+        OrderItem orderItem = OrderItem.createReservedOrderItem(item, item.getPrice(), count);
 
         // 주문 생성
         Order order = Order.createOrder(member, delivery, orderItem);
 
         // 주문 저장
         orderRepository.save(order);
+        eventPublisher.publishEvent(new OrderChangedEvent(order.getId(), OrderChangedEvent.Type.ORDER));
         return order.getId();
     }
 
@@ -47,10 +62,44 @@ public class OrderService {
     @Transactional
     public void cancelOrder(Long orderId) {
         Order order = orderRepository.findOne(orderId);
-        order.cancel();
+        order.cancel(orderItem -> restoreStock(orderItem.getItem(), orderItem.getCount()));
+        eventPublisher.publishEvent(new OrderChangedEvent(orderId, OrderChangedEvent.Type.CANCEL));
     }
 
+    private boolean reserveStock(Item item, int count) {
+        return stockLedger
+                .map(ledger -> ledger.reserve(item.getId(), count))
+                .orElseGet(() -> itemRepository.decreaseStock(item, count));
+    }
+
+    private void restoreStock(Item item, int count) {
+        if (stockLedger.isPresent()) {
+            stockLedger.get().release(item.getId(), count);
+        } else {
+            itemRepository.increaseStock(item, count);
+        }
+    }
+
+    private static final int MAX_SEARCH_RESULTS = 1000;
+
     public List<Order> findOrders(OrderSearch orderSearch) {
-        return orderRepository.findAllByString(orderSearch);
+        return orderRepository.search(orderSearch, findMemberIds(orderSearch), null, MAX_SEARCH_RESULTS);
+    }
+
+    // 커서 페이징 검색(limit 은 1 ~ MAX_SEARCH_RESULTS)
+    public List<Order> searchOrders(OrderSearch orderSearch, String cursor, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_SEARCH_RESULTS));
+        return orderRepository.search(orderSearch, findMemberIds(orderSearch), OrderCursor.decodeKey(cursor), pageSize);
+    }
+
+    // 부분 일치 이름 검색은 이름 색인으로 회원 id 를 먼저 찾는다.
+    // 색인을 쓸 수 없거나 찾지 못하면 null(LIKE 로 검색): 다른 노드 등에서 추가된 회원은 색인에 아직 없을 수 있다.
+    private Set<Long> findMemberIds(OrderSearch orderSearch) {
+        if (orderSearch.getNameMatch() != OrderSearch.NameMatch.CONTAINS || !StringUtils.hasText(orderSearch.getMemberName())) {
+            return null;
+        }
+        return memberNameIndex.findIdsContaining(orderSearch.getMemberName())
+                .filter(ids -> !ids.isEmpty())
+                .orElse(null);
     }
 }
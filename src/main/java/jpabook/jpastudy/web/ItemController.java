@@ -2,6 +2,7 @@ package jpabook.jpastudy.web;
 
 import jpabook.jpastudy.domain.item.Book;
 import jpabook.jpastudy.domain.item.Item;
+import jpabook.jpastudy.repository.ItemSearch;
 import jpabook.jpastudy.service.ItemService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Controller;
@@ -10,6 +11,7 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 
 import java.util.List;
 
@@ -17,12 +19,18 @@ import java.util.List;
 @RequiredArgsConstructor
 public class ItemController {
 
+    private static final int PAGE_SIZE = 20;
+
     private final ItemService itemService;
 
     @GetMapping(value = "/items")
-    public String list(Model model) {
-        List<Item> items = itemService.findItems();
+    public String list(@ModelAttribute("itemSearch") ItemSearch itemSearch,
+                       @RequestParam(value = "after", required = false) Long after,
+                       Model model) {
+        List<Item> items = itemService.findItems(itemSearch, after, PAGE_SIZE);
         model.addAttribute("items", items);
+        // 한 페이지가 가득 차면 다음 페이지가 있을 수 있다
+        model.addAttribute("nextAfter", items.size() == PAGE_SIZE ? items.get(items.size() - 1).getId() : null);
         return "items/itemList";
     }
 
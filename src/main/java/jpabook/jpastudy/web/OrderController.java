@@ -3,8 +3,6 @@ package jpabook.jpastudy.web;
 import jpabook.jpastudy.domain.Member;
 import jpabook.jpastudy.domain.Order;
 import jpabook.jpastudy.repository.order.OrderSearch;
-import jpabook.jpastudy.domain.item.Item;
-import jpabook.jpastudy.service.ItemService;
 import jpabook.jpastudy.service.MemberService;
 import jpabook.jpastudy.service.OrderService;
 import lombok.RequiredArgsConstructor;
@@ -20,7 +18,6 @@ public class OrderController {
 
     private final OrderService orderService;
     private final MemberService memberService;
-    private final ItemService itemService;
 
     @GetMapping(value = "/orders")
     public String orderList(@ModelAttribute("orderSearch") OrderSearch orderSearch, Model model) {
@@ -29,12 +26,11 @@ public class OrderController {
         return "order/orderList";
     }
 
+    // 상품은 전체 목록 대신 자동완성(/api/items/search)으로 고른다
     @GetMapping(value = "/order")
     public String createForm(Model model) {
         List<Member> members = memberService.findMembers();
-        List<Item> items = itemService.findItems();
         model.addAttribute("members", members);
-        model.addAttribute("items", items);
         return "order/orderForm";
     }
 
@@ -0,0 +1,65 @@
+package jpabook.jpastudy.analytics;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class SalesColumnsTest {
+
+    @Test
+    public void 상품별_합계_취소_제외() throws Exception {
+        // given
+        SalesColumns columns = new SalesColumns();
+        columns.appendOrder(1L, false, 100, new long[]{10L, 20L}, new int[]{1000, 500}, new int[]{2, 1});
+        columns.appendOrder(2L, false, 101, new long[]{10L}, new int[]{1000}, new int[]{3});
+        columns.appendOrder(3L, false, 101, new long[]{20L}, new int[]{500}, new int[]{4});
+
+        // when
+        columns.cancelOrder(3L);
+        SalesColumns.Snapshot snapshot = columns.snapshot();
+        long[][] byItem = snapshot.sumBy(Integer.MIN_VALUE, Integer.MAX_VALUE, null, snapshot.itemCount(), (item, day) -> item);
+
+        // then
+        assertEquals(10L, snapshot.itemId(0));
+        assertEquals(5, byItem[0][0]);
+        assertEquals(5000, byItem[1][0]);
+        assertEquals("취소된 주문은 빠져야 한다.", 1, byItem[0][1]);
+        assertEquals(500, byItem[1][1]);
+    }
+
+    @Test
+    public void 기간과_상품_조건() throws Exception {
+        // given
+        SalesColumns columns = new SalesColumns();
+        columns.appendOrder(1L, false, 100, new long[]{10L, 20L}, new int[]{1000, 500}, new int[]{2, 1});
+        columns.appendOrder(2L, false, 101, new long[]{10L}, new int[]{1000}, new int[]{3});
+        columns.appendOrder(2L, false, 101, new long[]{10L}, new int[]{1000}, new int[]{3});
+
+        // when
+        long[][] byDay = columns.snapshot().sumBy(100, 101, new boolean[]{true, false}, 2, (item, day) -> day - 100);
+
+        // then
+        assertEquals(2, byDay[0][0]);
+        assertEquals("같은 주문은 한 번만 추가된다.", 3, byDay[0][1]);
+        assertEquals(3000, byDay[1][1]);
+    }
+
+    @Test
+    public void 이전_snapshot_은_추가된_행을_보지_않는다() throws Exception {
+        // given
+        SalesColumns columns = new SalesColumns();
+        columns.appendOrder(1L, false, 100, new long[]{10L}, new int[]{1000}, new int[]{1});
+        SalesColumns.Snapshot before = columns.snapshot();
+
+        // when
+        for (long orderId = 2; orderId <= 5000; orderId++) {
+            columns.appendOrder(orderId, false, 100, new long[]{orderId + 10_000}, new int[]{1}, new int[]{1});
+        }
+
+        // then
+        assertEquals(1, before.size());
+        assertEquals(1, before.sumBy(100, 100, null, 1, (item, day) -> 0)[0][0]);
+        assertEquals(5000, columns.snapshot().size());
+        assertEquals(5000, columns.snapshot().itemCount());
+    }
+}
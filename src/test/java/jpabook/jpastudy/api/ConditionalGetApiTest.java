@@ -0,0 +1,74 @@
+package jpabook.jpastudy.api;
+
+import jpabook.jpastudy.domain.Member;
+import jpabook.jpastudy.monitor.QueryCountHeaders;
+import jpabook.jpastudy.repository.MemberRepository;
+import jpabook.jpastudy.service.MemberService;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.Assert.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@AutoConfigureMockMvc
+public class ConditionalGetApiTest {
+
+    @Autowired
+    MockMvc mockMvc;
+    @Autowired
+    MemberService memberService;
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Test
+    public void 바뀐_것이_없으면_DB_조회_없이_304() throws Exception {
+        // given
+        String etag = mockMvc.perform(get("/api/v2/members"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+
+        // when
+        MockHttpServletResponse response = mockMvc.perform(get("/api/v2/members").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andReturn().getResponse();
+
+        // then
+        assertEquals(304, response.getStatus());
+        assertEquals("0", response.getHeader(QueryCountHeaders.QUERY_COUNT));
+    }
+
+    @Test
+    public void 회원_이름이_바뀌면_새_ETag_와_바뀐_이름으로_응답한다() throws Exception {
+        // given: 주문이 있는 회원(InitDb)
+        Member member = memberRepository.findByName("userA").get(0);
+        String etag = mockMvc.perform(get("/api/v4/simple-orders"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        try {
+            // when
+            memberService.update(member.getId(), "userA-ETag");
+
+            // then
+            MockHttpServletResponse response = mockMvc.perform(get("/api/v4/simple-orders").header(HttpHeaders.IF_NONE_MATCH, etag))
+                    .andReturn().getResponse();
+            assertEquals("주문 응답에 회원 이름이 들어가므로 회원 변경에도 다시 만든다.", 200, response.getStatus());
+            assertNotEquals(etag, response.getHeader(HttpHeaders.ETAG));
+            assertTrue("캐시된 이전 이름이 아니라 바뀐 이름이어야 한다.", response.getContentAsString().contains("\"userA-ETag\""));
+
+            MockHttpServletResponse again = mockMvc.perform(get("/api/v4/simple-orders").header(HttpHeaders.IF_NONE_MATCH, response.getHeader(HttpHeaders.ETAG)))
+                    .andReturn().getResponse();
+            assertEquals(304, again.getStatus());
+        } finally {
+            // 공유 테스트 DB 를 원래대로
+            memberService.update(member.getId(), "userA");
+        }
+    }
+}
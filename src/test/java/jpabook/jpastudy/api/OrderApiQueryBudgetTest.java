@@ -0,0 +1,66 @@
+package jpabook.jpastudy.api;
+
+import jpabook.jpastudy.monitor.QueryCountHeaders;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.Assert.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@AutoConfigureMockMvc
+public class OrderApiQueryBudgetTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Test
+    public void 페치_조인은_쿼리_1번() throws Exception {
+        assertEquals(1, queryCount("/api/v3/orders"));
+    }
+
+    @Test
+    public void DTO_IN_절_조회는_쿼리_2번() throws Exception {
+        assertEquals(2, queryCount("/api/v5/orders"));
+    }
+
+    @Test
+    public void 동시_실행한_쿼리도_요청에_집계된다() throws Exception {
+        assertEquals(2, queryCount("/api/v5.1/orders"));
+    }
+
+    @Test
+    public void expand_는_요청한_연관관계만_조회한다() throws Exception {
+        assertEquals("루트만", 1, queryCount("/api/v3.3/orders"));
+        assertEquals("toOne 은 루트 쿼리에 조인", 1, queryCount("/api/v3.3/orders?expand=member,delivery"));
+        assertEquals("toMany 는 IN 쿼리 한 번 추가", 2, queryCount("/api/v3.3/orders?expand=member,delivery,items.item"));
+    }
+
+    @Test
+    public void 지원하지_않는_expand_는_400() throws Exception {
+        mockMvc.perform(get("/api/v3.3/orders").param("expand", "payments")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void DTO_직접_조회_루프는_주문마다_같은_쿼리를_반복한다() throws Exception {
+        String maxRepeat = mockMvc.perform(get("/api/v4/orders"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(QueryCountHeaders.QUERY_MAX_REPEAT);
+
+        assertTrue("v4 는 주문마다 order_item DTO 를 조회한다(N+1).", Integer.parseInt(maxRepeat) > 1);
+    }
+
+    private int queryCount(String url) throws Exception {
+        String count = mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(QueryCountHeaders.QUERY_COUNT);
+        return Integer.parseInt(count);
+    }
+}
@@ -0,0 +1,46 @@
+package jpabook.jpastudy.api;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.Assert.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@AutoConfigureMockMvc
+public class OrderCursorApiTest {
+
+    @Autowired
+    MockMvc mockMvc;
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Test
+    public void 잘못된_커서는_400() throws Exception {
+        mockMvc.perform(get("/api/v3.2/orders").param("cursor", "!!잘못된커서")).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v3.2/orders").param("cursor", "eDox")).andExpect(status().isBadRequest()); // "x:1"
+        mockMvc.perform(get("/api/v3.4/orders").param("cursor", "bzox")).andExpect(status().isBadRequest()); // "o:1"
+    }
+
+    @Test
+    public void limit_은_1_이상으로_맞춘다() throws Exception {
+        // when
+        String body = mockMvc.perform(get("/api/v3.4/orders").param("limit", "0"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        // then
+        JsonNode result = objectMapper.readTree(body);
+        assertEquals(1, result.get("data").size());
+        assertFalse("다음 페이지 커서가 있어야 한다.", result.get("nextCursor").isNull());
+    }
+}
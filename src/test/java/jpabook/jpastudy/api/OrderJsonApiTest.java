@@ -0,0 +1,69 @@
+package jpabook.jpastudy.api;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@AutoConfigureMockMvc
+public class OrderJsonApiTest {
+
+    @Autowired
+    MockMvc mockMvc;
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Test
+    public void 직접_쓴_JSON_은_DTO_직렬화와_같다() throws Exception {
+        MockHttpServletResponse v5 = perform("/api/v5/orders");
+        MockHttpServletResponse v5_2 = perform("/api/v5.2/orders");
+
+        assertFalse(ordersOf(v5).isEmpty());
+        assertEquals(ordersOf(v5), ordersOf(v5_2));
+        assertEquals(v5.getContentType(), v5_2.getContentType());
+    }
+
+    @Test
+    public void 직접_쓴_간단한_주문_JSON_은_DTO_직렬화와_같다() throws Exception {
+        MockHttpServletResponse v4 = perform("/api/v4/simple-orders");
+        MockHttpServletResponse v4_1 = perform("/api/v4.1/simple-orders");
+
+        assertFalse(ordersOf(v4).isEmpty());
+        assertEquals(ordersOf(v4), ordersOf(v4_1));
+        assertEquals(v4.getContentType(), v4_1.getContentType());
+    }
+
+    private MockHttpServletResponse perform(String url) throws Exception {
+        return mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+    }
+
+    // 주문 순서는 엔드포인트마다 다를 수 있어서 orderId 로 정렬해 비교
+    // charset 이 없는 application/json 은 UTF-8 로 읽는다(기본값 ISO-8859-1 이면 한글이 깨진다)
+    private List<JsonNode> ordersOf(MockHttpServletResponse response) throws Exception {
+        String body = response.getContentAsString(StandardCharsets.UTF_8);
+
+        List<JsonNode> orders = new ArrayList<>();
+        objectMapper.readTree(body).forEach(orders::add);
+        orders.sort(Comparator.comparingLong(o -> o.get("orderId").asLong()));
+        return orders;
+    }
+}
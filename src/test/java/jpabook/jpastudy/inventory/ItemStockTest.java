@@ -0,0 +1,59 @@
+package jpabook.jpastudy.inventory;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.*;
+
+public class ItemStockTest {
+
+    @Test
+    public void 동시_예약은_재고를_넘지_않는다() throws Exception {
+        // given
+        ItemStock stock = new ItemStock(8, 1000);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // when
+        List<Future<Integer>> futures = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            futures.add(executor.submit(() -> {
+                int reserved = 0;
+                for (int i = 0; i < 500; i++) {
+                    if (stock.tryReserve(1)) {
+                        reserved++;
+                    }
+                }
+                return reserved;
+            }));
+        }
+
+        int reserved = 0;
+        for (Future<Integer> future : futures) {
+            reserved += future.get();
+        }
+        executor.shutdown();
+
+        // then
+        assertEquals("재고만큼만 예약되어야 한다.", 1000, reserved);
+        assertEquals(0, stock.total());
+    }
+
+    @Test
+    public void 한_칸으로_부족하면_모아서_예약한다() {
+        // given
+        ItemStock stock = new ItemStock(4, 10);
+
+        // when
+        boolean reserved = stock.tryReserve(9);
+
+        // then
+        assertTrue(reserved);
+        assertEquals(1, stock.total());
+        assertFalse(stock.tryReserve(2));
+    }
+}
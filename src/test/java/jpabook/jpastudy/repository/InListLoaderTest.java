@@ -0,0 +1,56 @@
+package jpabook.jpastudy.repository;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.Assert.*;
+
+public class InListLoaderTest {
+
+    @Test
+    public void 묶음_크기는_2의_거듭제곱() {
+        // given
+        InListLoader loader = new InListLoader(8);
+        List<Long> ids = LongStream.rangeClosed(1, 11).boxed().collect(Collectors.toList());
+
+        // when
+        List<List<Long>> chunks = loader.chunks(ids);
+
+        // then
+        assertEquals(2, chunks.size());
+        assertEquals(8, chunks.get(0).size());
+        assertEquals("3개 남은 묶음은 4개로 채운다.", 4, chunks.get(1).size());
+        assertEquals(Long.valueOf(11L), chunks.get(1).get(3));
+    }
+
+    @Test
+    public void 동시_조회도_순서를_유지한다() {
+        // given
+        InListLoader loader = new InListLoader(4);
+        List<Long> ids = LongStream.rangeClosed(1, 20).boxed().collect(Collectors.toList());
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        // when
+        List<Long> result;
+        try {
+            result = loader.loadConcurrently(ids, chunk -> new ArrayList<>(new LinkedHashSet<>(chunk)), executor);
+        } finally {
+            executor.shutdown();
+        }
+
+        // then
+        assertEquals(ids, result);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void 묶음_크기_검증() {
+        new InListLoader(100);
+    }
+}
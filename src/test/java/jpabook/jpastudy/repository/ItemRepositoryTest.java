@@ -0,0 +1,83 @@
+package jpabook.jpastudy.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jpabook.jpastudy.domain.Category;
+import jpabook.jpastudy.domain.item.Album;
+import jpabook.jpastudy.domain.item.Book;
+import jpabook.jpastudy.domain.item.Item;
+import jpabook.jpastudy.domain.item.ItemType;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@Transactional
+public class ItemRepositoryTest {
+
+    @PersistenceContext
+    EntityManager em;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @Test
+    public void 카테고리와_종류로_커서_페이징() throws Exception {
+        // given
+        Book first = persist(new Book(), "키셋 책1");
+        Album album = persist(new Album(), "키셋 앨범");
+        Book second = persist(new Book(), "키셋 책2");
+        Book third = persist(new Book(), "키셋 책3");
+        persist(new Book(), "카테고리 밖의 책");
+        Category category = new Category();
+        category.setName("키셋");
+        category.getItems().addAll(List.of(first, album, second, third));
+        em.persist(category);
+        em.flush();
+        em.clear();
+
+        ItemSearch cond = new ItemSearch();
+        cond.setCategoryId(category.getId());
+        cond.setItemType(ItemType.BOOK);
+
+        // when
+        List<Item> page1 = itemRepository.findPage(cond, null, 2);
+        List<Item> page2 = itemRepository.findPage(cond, page1.get(page1.size() - 1).getId(), 2);
+
+        // then
+        assertEquals(List.of(first.getId(), second.getId()), page1.stream().map(Item::getId).toList());
+        assertEquals(List.of(third.getId()), page2.stream().map(Item::getId).toList());
+    }
+
+    @Test
+    public void 상품명_앞부분_일치() throws Exception {
+        // given
+        Book b = persist(new Book(), "자동완성 B");
+        Book a = persist(new Book(), "자동완성 A");
+        persist(new Book(), "앞이 다른 자동완성");
+        em.flush();
+        em.clear();
+
+        // when
+        List<Item> items = itemRepository.findByNamePrefix("자동완성", 10);
+
+        // then
+        assertEquals("이름순", List.of(a.getId(), b.getId()), items.stream().map(Item::getId).toList());
+    }
+
+    private <T extends Item> T persist(T item, String name) {
+        item.setName(name);
+        item.setPrice(1000);
+        item.setStockQuantity(10);
+        em.persist(item);
+        return item;
+    }
+}
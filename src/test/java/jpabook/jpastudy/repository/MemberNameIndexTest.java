@@ -0,0 +1,155 @@
+package jpabook.jpastudy.repository;
+
+import org.junit.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class MemberNameIndexTest {
+
+    @Test
+    public void 부분_일치_검색은_대소문자를_무시한다() {
+        // given
+        MemberNameIndex.Trigrams trigrams = new MemberNameIndex.Trigrams();
+        trigrams.put(1L, "Kim Minsu");
+        trigrams.put(2L, "Lee Minji");
+        trigrams.put(3L, "Park Jisoo");
+
+        // when
+        Set<Long> result = trigrams.find(MemberNameIndex.Trigrams.normalize("MIN"), 10);
+
+        // then
+        assertEquals(Set.of(1L, 2L), result);
+        assertEquals("조각은 모두 있지만 이어지지 않으면 제외한다.", Set.of(), trigrams.find("minsoo", 10));
+        assertEquals("없는 조각이면 바로 빈 결과", Set.of(), trigrams.find("choi", 10));
+    }
+
+    @Test
+    public void 짧은_검색어는_이름을_훑는다() {
+        // given
+        MemberNameIndex.Trigrams trigrams = new MemberNameIndex.Trigrams();
+        trigrams.put(1L, "회원1");
+        trigrams.put(2L, "회원2");
+        trigrams.put(3L, "관리자");
+
+        // when
+        Set<Long> result = trigrams.find("회원", 10);
+
+        // then
+        assertEquals(Set.of(1L, 2L), result);
+    }
+
+    @Test
+    public void 이름을_바꾸면_이전_이름으로는_찾지_않는다() {
+        // given
+        MemberNameIndex.Trigrams trigrams = new MemberNameIndex.Trigrams();
+        trigrams.put(1L, "spring");
+
+        // when
+        trigrams.put(1L, "summer");
+
+        // then
+        assertEquals(Set.of(), trigrams.find("spr", 10));
+        assertEquals(Set.of(1L), trigrams.find("umm", 10));
+        assertEquals(1, trigrams.size());
+    }
+
+    @Test
+    public void 후보가_너무_많으면_null() {
+        // given
+        MemberNameIndex.Trigrams trigrams = new MemberNameIndex.Trigrams();
+        for (long id = 1; id <= 5; id++) {
+            trigrams.put(id, "member" + id);
+        }
+
+        // then
+        assertNull(trigrams.find("member", 4));
+        assertEquals(5, trigrams.find("member", 5).size());
+    }
+
+    @Test
+    public void 적재_전에는_색인을_쓰지_않는다() {
+        // given
+        MemberNameIndex index = new MemberNameIndex(null, DataSize.ofMegabytes(1), 10);
+
+        // when
+        index.put(1L, "member1");
+
+        // then
+        assertTrue("호출하는 쪽이 DB 검색으로 대신한다.", index.findIdsContaining("member").isEmpty());
+    }
+
+    @Test
+    public void 읽는_동안_서비스가_바꾼_이름은_읽은_값으로_덮어쓰지_않는다() {
+        // given
+        MemberNameIndex index = new MemberNameIndex(null, DataSize.ofMegabytes(1), 10);
+        index.beginLoad();
+
+        // when: DB 에서 이전 이름을 읽은 뒤, 반영하기 전에 이름 변경이 커밋됨
+        index.put(1L, "new name");
+        index.applyLoaded(List.of(new Object[]{1L, "old name"}, new Object[]{2L, "other name"}));
+        index.endLoad();
+
+        // then
+        assertEquals(Optional.of(Set.of(1L)), index.findIdsContaining("new"));
+        assertEquals(Optional.of(Set.of()), index.findIdsContaining("old"));
+        assertEquals(Optional.of(Set.of(1L, 2L)), index.findIdsContaining("name"));
+    }
+
+    @Test
+    public void 다음_적재는_새로_읽은_회원만_더한다() {
+        // given
+        MemberNameIndex index = new MemberNameIndex(null, DataSize.ofMegabytes(1), 10);
+        index.beginLoad();
+        index.applyLoaded(List.<Object[]>of(new Object[]{1L, "first"}));
+        index.endLoad();
+
+        // when
+        index.beginLoad();
+        index.applyLoaded(List.<Object[]>of(new Object[]{2L, "second"}));
+        index.endLoad();
+
+        // then
+        assertEquals(Optional.of(Set.of(1L)), index.findIdsContaining("first"));
+        assertEquals(Optional.of(Set.of(2L)), index.findIdsContaining("second"));
+    }
+
+    @Test
+    public void 추정_크기를_넘으면_색인을_버린다() {
+        // given
+        MemberNameIndex index = new MemberNameIndex(null, DataSize.ofKilobytes(4), 10);
+        List<Object[]> rows = new ArrayList<>();
+        for (long id = 1; id <= 100; id++) {
+            rows.add(new Object[]{id, "member" + id});
+        }
+
+        // when
+        index.beginLoad();
+        boolean kept = index.applyLoaded(rows);
+        index.endLoad();
+
+        // then
+        assertFalse(kept);
+        assertTrue("이후 검색은 DB 로 한다.", index.findIdsContaining("member").isEmpty());
+    }
+
+    @Test
+    public void 추정_크기는_이름을_바꿔도_맞게_유지된다() {
+        // given
+        MemberNameIndex.Trigrams trigrams = new MemberNameIndex.Trigrams();
+        trigrams.put(1L, "spring");
+        long bytes = trigrams.estimatedBytes();
+
+        // when
+        trigrams.put(1L, "summer");
+        trigrams.put(1L, "spring");
+
+        // then
+        assertEquals(bytes, trigrams.estimatedBytes());
+    }
+}
@@ -0,0 +1,27 @@
+package jpabook.jpastudy.repository.order;
+
+import jpabook.jpastudy.exception.InvalidExpandException;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class OrderFetchPlanTest {
+
+    @Test
+    public void expand_파싱() throws Exception {
+        // when
+        OrderFetchPlan plan = OrderFetchPlan.parse("member, items.item");
+
+        // then
+        assertTrue(plan.member());
+        assertFalse(plan.delivery());
+        assertTrue("items.item 은 items 를 포함한다.", plan.items());
+        assertTrue(plan.itemsItem());
+        assertEquals(OrderFetchPlan.NONE, OrderFetchPlan.parse(null));
+    }
+
+    @Test(expected = InvalidExpandException.class)
+    public void 지원하지_않는_expand() throws Exception {
+        OrderFetchPlan.parse("member,payments");
+    }
+}
@@ -0,0 +1,106 @@
+package jpabook.jpastudy.repository.order;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jpabook.jpastudy.domain.*;
+import jpabook.jpastudy.domain.item.Book;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@Transactional
+public class OrderSearchTest {
+
+    @PersistenceContext
+    EntityManager em;
+
+    @Autowired
+    OrderRepository orderRepository;
+
+    @Test
+    public void 조건_검색과_커서_페이징() throws Exception {
+        // given
+        Member member = createMember("검색회원");
+        Book book = createBook();
+        Order first = createOrder(member, book, 1);
+        Order second = createOrder(member, book, 2);
+        Order third = createOrder(member, book, 3);
+        createOrder(createMember("다른회원"), book, 3);
+
+        OrderSearch cond = new OrderSearch();
+        cond.setMemberName("검색");
+        cond.setOrderStatus(OrderStatus.ORDER);
+        cond.setOrderDateFrom(LocalDate.now());
+        cond.setOrderDateTo(LocalDate.now());
+        em.flush();
+        em.clear();
+
+        // when
+        List<Order> page1 = orderRepository.search(cond, null, 2);
+        Order last = page1.get(page1.size() - 1);
+        List<Order> page2 = orderRepository.search(cond, new OrderCursor.Key(last.getOrderDate(), last.getId()), 2);
+
+        // then
+        assertEquals(List.of(third.getId(), second.getId()), page1.stream().map(Order::getId).toList());
+        assertEquals(List.of(first.getId()), page2.stream().map(Order::getId).toList());
+    }
+
+    @Test
+    public void 이름_같음과_금액_범위() throws Exception {
+        // given
+        Member member = createMember("금액회원");
+        Book book = createBook();
+        createOrder(member, book, 1);
+        Order expensive = createOrder(member, book, 5);
+
+        OrderSearch cond = new OrderSearch();
+        cond.setMemberName("금액회원");
+        cond.setNameMatch(OrderSearch.NameMatch.EXACT);
+        cond.setMinTotalPrice(30000);
+        cond.setSort(OrderSearch.Sort.OLDEST);
+
+        // when
+        List<Order> result = orderRepository.search(cond, null, 10);
+
+        // then
+        assertEquals(List.of(expensive), result);
+        cond.setMemberName("금액");
+        assertTrue("EXACT 는 앞부분 일치를 하지 않는다.", orderRepository.search(cond, null, 10).isEmpty());
+    }
+
+    private Member createMember(String name) {
+        Member member = new Member();
+        member.setName(name);
+        member.setAddress(new Address("서울", "강가", "123-123"));
+        em.persist(member);
+        return member;
+    }
+
+    private Book createBook() {
+        Book book = new Book();
+        book.setName("검색 책");
+        book.setPrice(10000);
+        book.setStockQuantity(100);
+        em.persist(book);
+        return book;
+    }
+
+    private Order createOrder(Member member, Book book, int count) {
+        Delivery delivery = new Delivery();
+        delivery.setAddress(member.getAddress());
+        delivery.setStatus(DeliveryStatus.READY);
+        Order order = Order.createOrder(member, delivery, OrderItem.createOrderItem(book, book.getPrice(), count));
+        em.persist(order);
+        return order;
+    }
+}
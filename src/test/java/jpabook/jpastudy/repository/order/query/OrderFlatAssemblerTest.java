@@ -0,0 +1,60 @@
+package jpabook.jpastudy.repository.order.query;
+
+import jpabook.jpastudy.domain.Address;
+import jpabook.jpastudy.domain.OrderStatus;
+import org.junit.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class OrderFlatAssemblerTest {
+
+    @Test
+    public void 플랫_데이터_조립() {
+        // given
+        List<OrderFlatDto> rows = List.of(
+                row(3L, "userA", "JPA1 BOOK"),
+                row(3L, "userA", "JPA2 BOOK"),
+                row(1L, "userB", "SPRING1 BOOK"),
+                row(5L, "userA", "SPRING2 BOOK"));
+
+        // when
+        List<OrderQueryDto> result = OrderFlatAssembler.assemble(rows);
+
+        // then
+        assertEquals("주문 수만큼 조립되어야 한다.", 3, result.size());
+        assertEquals("조회 순서를 유지해야 한다.", Long.valueOf(3L), result.get(0).getOrderId());
+        assertEquals(Long.valueOf(1L), result.get(1).getOrderId());
+        assertEquals(2, result.get(0).getOrderItems().size());
+        assertSame("같은 주소는 하나의 인스턴스를 재사용한다.", result.get(0).getAddress(), result.get(2).getAddress());
+    }
+
+    @Test
+    public void 병렬_조립은_주문을_쪼개지_않는다() {
+        // given
+        List<OrderFlatDto> rows = new ArrayList<>();
+        for (long orderId = 1; orderId <= 100; orderId++) {
+            for (int i = 0; i < 3; i++) {
+                rows.add(row(orderId, "user" + orderId, "item" + i));
+            }
+        }
+
+        // when
+        List<OrderQueryDto> result = OrderFlatAssembler.assembleParallel(rows, 10);
+
+        // then
+        assertEquals(100, result.size());
+        for (int i = 0; i < result.size(); i++) {
+            assertEquals(Long.valueOf(i + 1), result.get(i).getOrderId());
+            assertEquals(3, result.get(i).getOrderItems().size());
+        }
+    }
+
+    private OrderFlatDto row(Long orderId, String name, String itemName) {
+        Address address = new Address("서울", name, "123-123");
+        return new OrderFlatDto(orderId, name, LocalDateTime.now(), OrderStatus.ORDER, address, itemName, 10000, 1);
+    }
+}
@@ -0,0 +1,86 @@
+package jpabook.jpastudy.repository.order.stats;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jpabook.jpastudy.domain.*;
+import jpabook.jpastudy.domain.item.Book;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@Transactional
+public class OrderStatsRepositoryTest {
+
+    @PersistenceContext
+    EntityManager em;
+
+    @Autowired
+    OrderStatsRepository orderStatsRepository;
+
+    @Test
+    public void 주문_금액_집계() throws Exception {
+        // given
+        long canceledBefore = totalOf(OrderStatus.CANCEL);
+        Member member = createMember("큰손");
+        Book book = createBook(1_000_000, 100);
+        createOrder(member, book, 3);
+        createOrder(member, book, 2).cancel(orderItem -> {}); // 재고 복구는 이 테스트와 무관
+        em.flush();
+        em.clear();
+
+        // when
+        List<MemberRevenueDto> topMembers = orderStatsRepository.findTopMembers(OrderStatus.ORDER, 1);
+        List<DailyRevenueDto> daily = orderStatsRepository.findDaily(OrderStatus.ORDER, LocalDate.now(), LocalDate.now());
+
+        // then
+        assertEquals(member.getId(), topMembers.get(0).getMemberId());
+        assertEquals("취소된 주문은 빠져야 한다.", 1, topMembers.get(0).getOrderCount());
+        assertEquals(3_000_000, topMembers.get(0).getTotalPrice());
+        assertEquals(LocalDate.now(), daily.get(0).getDay());
+        assertTrue(daily.get(0).getTotalPrice() >= 3_000_000);
+        assertEquals("취소된 주문 금액은 CANCEL 상태로 집계된다.", canceledBefore + 2_000_000, totalOf(OrderStatus.CANCEL));
+    }
+
+    private long totalOf(OrderStatus status) {
+        return orderStatsRepository.findByStatus().stream()
+                .filter(s -> s.getStatus() == status)
+                .mapToLong(OrderStatusStatsDto::getTotalPrice)
+                .sum();
+    }
+
+    private Member createMember(String name) {
+        Member member = new Member();
+        member.setName(name);
+        member.setAddress(new Address("서울", "강가", "123-123"));
+        em.persist(member);
+        return member;
+    }
+
+    private Book createBook(int price, int stockQuantity) {
+        Book book = new Book();
+        book.setName("비싼 책");
+        book.setPrice(price);
+        book.setStockQuantity(stockQuantity);
+        em.persist(book);
+        return book;
+    }
+
+    private Order createOrder(Member member, Book book, int count) {
+        Delivery delivery = new Delivery();
+        delivery.setAddress(member.getAddress());
+        delivery.setStatus(DeliveryStatus.READY);
+        Order order = Order.createOrder(member, delivery, OrderItem.createOrderItem(book, book.getPrice(), count));
+        em.persist(order);
+        return order;
+    }
+}
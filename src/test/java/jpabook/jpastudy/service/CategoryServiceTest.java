@@ -0,0 +1,40 @@
+package jpabook.jpastudy.service;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.Assert.*;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@Transactional
+public class CategoryServiceTest {
+
+    @Autowired
+    CategoryService categoryService;
+
+    @Test
+    public void 하위_카테고리_등록() throws Exception {
+        // given
+        Long parentId = categoryService.saveCategory("도서", null);
+
+        // when
+        Long childId = categoryService.saveCategory("IT", parentId);
+
+        // then
+        assertNotNull(childId);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void 없는_상위_카테고리() throws Exception {
+        // when
+        categoryService.saveCategory("IT", -1L);
+
+        // then
+        fail("없는 상위 카테고리면 예외가 발생해야 한다.");
+    }
+}
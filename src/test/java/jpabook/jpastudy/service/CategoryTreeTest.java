@@ -0,0 +1,37 @@
+package jpabook.jpastudy.service;
+
+import jpabook.jpastudy.repository.category.CategoryFlatDto;
+import jpabook.jpastudy.repository.category.CategoryItemDto;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class CategoryTreeTest {
+
+    @Test
+    public void 하위_카테고리_상품까지_조회() {
+        // given: 도서(1) > IT(2) > 자바(3), 도서(1) > 소설(4)
+        CategoryTree tree = CategoryTree.build(
+                List.of(new CategoryFlatDto(1L, "도서", null),
+                        new CategoryFlatDto(2L, "IT", 1L),
+                        new CategoryFlatDto(3L, "자바", 2L),
+                        new CategoryFlatDto(4L, "소설", 1L)),
+                List.of(new CategoryItemDto(1L, 100L),
+                        new CategoryItemDto(3L, 300L),
+                        new CategoryItemDto(4L, 400L),
+                        new CategoryItemDto(2L, 300L)));
+
+        // when
+        Set<Long> underIt = tree.itemIdsUnder(2L);
+        Set<Long> underBooks = tree.itemIdsUnder(1L);
+
+        // then
+        assertEquals(Set.of(300L), underIt);
+        assertEquals(Set.of(100L, 300L, 400L), underBooks);
+        assertEquals("루트부터 자기 자신까지의 경로", List.of(1L, 2L, 3L), tree.find(3L).orElseThrow().getPath());
+        assertEquals(1, tree.getRoots().size());
+    }
+}
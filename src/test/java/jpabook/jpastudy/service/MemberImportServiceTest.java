@@ -0,0 +1,119 @@
+package jpabook.jpastudy.service;
+
+import jpabook.jpastudy.domain.Member;
+import jpabook.jpastudy.repository.MemberRepository;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@Transactional
+public class MemberImportServiceTest {
+
+    @Autowired
+    MemberImportService memberImportService;
+    @Autowired
+    MemberService memberService;
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Test
+    public void CSV_일괄가입_중복과_형식오류_거절() throws Exception {
+        // given
+        Member member = new Member();
+        member.setName("기존회원");
+        memberService.join(member);
+
+        String csv = """
+                name,city,street,zipcode
+                신규1,서울,"강가, 1번지",123-123
+                기존회원,부산,바다,456
+                신규1,대구,산,789
+                ,서울,강가,000
+                "닫히지 않은
+                신규2
+                """;
+        List<MemberImportReject> rejects = new ArrayList<>();
+        List<MemberImportProgress> progresses = new ArrayList<>();
+
+        // when
+        MemberImportProgress result = memberImportService.importMembers(
+                new BufferedReader(new StringReader(csv)), MemberImportFormat.CSV, listener(rejects, progresses));
+
+        // then
+        assertEquals(6, result.processed());
+        assertEquals(2, result.imported());
+        assertEquals(4, result.rejected());
+        assertEquals(4, rejects.size());
+        assertFalse("묶음마다 진행 상황을 알려야 한다.", progresses.isEmpty());
+
+        Member imported = memberRepository.findByName("신규1").get(0);
+        assertEquals("따옴표 안의 쉼표는 필드 구분자가 아니다.", "강가, 1번지", imported.getAddress().getStreet());
+        assertEquals(1, memberRepository.findByName("신규2").size());
+        assertEquals("기존 회원은 다시 저장되지 않아야 한다.", 1, memberRepository.findByName("기존회원").size());
+    }
+
+    @Test
+    public void 헤더가_아닌_첫_줄은_가입한다() throws Exception {
+        // given: 첫 줄이 "name" 으로 시작하지만 헤더가 아니다
+        String csv = """
+                namek,서울,강가,123
+                name,city,street,zipcode
+                """;
+
+        // when
+        MemberImportProgress result = memberImportService.importMembers(
+                new BufferedReader(new StringReader(csv)), MemberImportFormat.CSV, listener(new ArrayList<>(), new ArrayList<>()));
+
+        // then
+        assertEquals(2, result.processed());
+        assertEquals(1, memberRepository.findByName("namek").size());
+        assertEquals("헤더 모양이어도 첫 줄이 아니면 데이터다.", 1, memberRepository.findByName("name").size());
+    }
+
+    @Test
+    public void NDJSON_일괄가입() throws Exception {
+        // given
+        String ndjson = """
+                {"name": "제이슨1", "address": {"city": "서울", "street": "강가", "zipcode": "123"}}
+                {"name": "제이슨2"}
+                [1, 2]
+                """;
+        List<MemberImportReject> rejects = new ArrayList<>();
+
+        // when
+        MemberImportProgress result = memberImportService.importMembers(
+                new BufferedReader(new StringReader(ndjson)), MemberImportFormat.NDJSON, listener(rejects, new ArrayList<>()));
+
+        // then
+        assertEquals(2, result.imported());
+        assertEquals(1, rejects.size());
+        assertEquals(3, rejects.get(0).line());
+        assertNull("주소가 없으면 null 로 저장한다.", memberRepository.findByName("제이슨2").get(0).getAddress());
+    }
+
+    private MemberImportListener listener(List<MemberImportReject> rejects, List<MemberImportProgress> progresses) {
+        return new MemberImportListener() {
+            @Override
+            public void rejected(MemberImportReject reject) {
+                rejects.add(reject);
+            }
+
+            @Override
+            public void progress(MemberImportProgress progress) {
+                progresses.add(progress);
+            }
+        };
+    }
+}
@@ -0,0 +1,162 @@
+package jpabook.jpastudy.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jpabook.jpastudy.domain.Address;
+import jpabook.jpastudy.domain.Member;
+import jpabook.jpastudy.domain.Order;
+import jpabook.jpastudy.exception.NotEnoughStockException;
+import jpabook.jpastudy.domain.item.Book;
+import jpabook.jpastudy.domain.item.Item;
+import jpabook.jpastudy.monitor.QueryCounter;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.*;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@Transactional
+public class OrderBatchServiceTest {
+
+    @PersistenceContext
+    EntityManager em;
+
+    @Autowired
+    OrderBatchService orderBatchService;
+
+    @Autowired
+    OrderService orderService;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Test
+    public void 일괄주문_일부_실패() throws Exception {
+        // given
+        Member member = createMember();
+        Book book = createBook("얍얍얍", 10000, 10);
+        List<OrderLine> lines = List.of(
+                new OrderLine(member.getId(), book.getId(), 3),
+                new OrderLine(member.getId(), book.getId(), 100),
+                new OrderLine(member.getId(), book.getId(), 5),
+                new OrderLine(-1L, book.getId(), 1));
+
+        // when
+        List<OrderPlacement> results = orderBatchService.orderAll(lines);
+
+        // then
+        assertEquals(4, results.size());
+        assertTrue(results.get(0).isSuccess());
+        assertFalse("재고 수량 초과 건은 실패해야 한다.", results.get(1).isSuccess());
+        assertTrue("앞선 실패와 상관없이 다음 주문은 처리되어야 한다.", results.get(2).isSuccess());
+        assertFalse("없는 회원의 주문은 실패해야 한다.", results.get(3).isSuccess());
+        assertEquals("성공한 주문 수량만큼 재고가 줄어야 한다.", 2, em.find(Item.class, book.getId()).getStockQuantity());
+    }
+
+    @Test
+    public void 묶음의_쿼리_수는_주문_줄_수에_비례해_늘지_않는다() throws Exception {
+        // given: 주문 줄마다 다른 상품(한 묶음)
+        Member member = createMember();
+        List<OrderLine> lines = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            lines.add(new OrderLine(member.getId(), createBook("쿼리수" + i, 1000, 10).getId(), 1));
+        }
+        em.flush();
+        em.clear();
+
+        // when
+        QueryCounter counter = QueryCounter.start();
+        try {
+            orderBatchService.orderAll(lines);
+        } finally {
+            QueryCounter.stop();
+        }
+
+        // then: 회원/상품 조회 각 1, 재고 UPDATE 줄마다 1, 주문/배송/주문상품 batch insert 각 1, 시퀀스 호출 테이블마다 최대 2
+        assertEquals("줄마다 반복되는 쿼리는 재고 UPDATE 뿐이다.", lines.size(), counter.getMaxRepeat());
+        assertTrue("재고를 차감한 뒤 상품을 다시 읽지 않아야 한다: " + counter.getRepeatedShapes(),
+                counter.getCount() <= lines.size() + 12);
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void 동시에_마지막_재고를_주문해도_초과_판매하지_않는다() throws Exception {
+        // given: 각 스레드가 자기 트랜잭션으로 커밋해야 하므로 테스트 트랜잭션 없이 데이터를 만든다
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        Member member = tx.execute(status -> createMember());
+        Book book = tx.execute(status -> createBook("마지막 재고", 10000, 5));
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        try {
+            // when: 일괄 주문과 단건 주문(조건부 UPDATE)이 섞여서 1개씩 16번 주문한다
+            List<Future<Boolean>> futures = new ArrayList<>();
+            for (int t = 0; t < 16; t++) {
+                Callable<Boolean> task = t % 2 == 0
+                        ? () -> orderBatchService.orderAll(List.of(new OrderLine(member.getId(), book.getId(), 1))).get(0).isSuccess()
+                        : () -> orderOne(member.getId(), book.getId());
+                futures.add(executor.submit(task));
+            }
+            int succeeded = 0;
+            for (Future<Boolean> future : futures) {
+                if (future.get()) {
+                    succeeded++;
+                }
+            }
+
+            // then
+            assertEquals("재고 수량만큼만 주문되어야 한다.", 5, succeeded);
+            assertEquals(0, (int) tx.execute(status -> em.find(Item.class, book.getId()).getStockQuantity()));
+        } finally {
+            executor.shutdown();
+            tx.executeWithoutResult(status -> {
+                em.createQuery("select o from Order o where o.member.id = :memberId", Order.class)
+                        .setParameter("memberId", member.getId())
+                        .getResultList()
+                        .forEach(em::remove);
+                em.remove(em.find(Item.class, book.getId()));
+                em.remove(em.find(Member.class, member.getId()));
+            });
+        }
+    }
+
+    private boolean orderOne(Long memberId, Long itemId) {
+        try {
+            orderService.order(memberId, itemId, 1);
+            return true;
+        } catch (NotEnoughStockException e) {
+            return false;
+        }
+    }
+
+    private Member createMember() {
+        Member member = new Member();
+        member.setName("회원1");
+        member.setAddress(new Address("서울", "강가", "123-123"));
+        em.persist(member);
+        return member;
+    }
+
+    private Book createBook(String name, int price, int stockQuantity) {
+        Book book = new Book();
+        book.setName(name);
+        book.setStockQuantity(stockQuantity);
+        book.setPrice(price);
+        em.persist(book);
+        return book;
+    }
+}
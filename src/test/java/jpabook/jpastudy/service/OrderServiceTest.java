@@ -9,7 +9,9 @@ import jpabook.jpastudy.domain.OrderStatus;
 import jpabook.jpastudy.domain.item.Book;
 import jpabook.jpastudy.domain.item.Item;
 import jpabook.jpastudy.exception.NotEnoughStockException;
+import jpabook.jpastudy.repository.MemberNameIndex;
 import jpabook.jpastudy.repository.order.OrderRepository;
+import jpabook.jpastudy.repository.order.OrderSearch;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -17,6 +19,8 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+
 import static org.junit.Assert.*;
 
 @RunWith(SpringRunner.class)
@@ -31,6 +35,8 @@ public class OrderServiceTest {
     OrderService orderService;
     @Autowired
     OrderRepository orderRepository;
+    @Autowired
+    MemberNameIndex memberNameIndex;
 
     @Test
     public void 상품주문() throws Exception {
@@ -48,7 +54,7 @@ public class OrderServiceTest {
         assertEquals("상품 주문 시 상태는 ORDER", OrderStatus.ORDER, gotOrder.getStatus());
         assertEquals("주문한 상품의 수가 정확해야 한다", 1, gotOrder.getOrderItems().size());
         assertEquals("주문 가격은 가격 * 수량이다.", 10000 * 2, gotOrder.getTotalPrice());
-        assertEquals("주문 수량만큼 재고가 줄어야 한다.", 8, item.getStockQuantity());
+        assertEquals("주문 수량만큼 재고가 줄어야 한다.", 8, em.find(Item.class, item.getId()).getStockQuantity());
     }
 
     @Test(expected = NotEnoughStockException.class)
@@ -79,12 +85,54 @@ public class OrderServiceTest {
         // then
         Order gotOrder = orderRepository.findOne(orderId);
         assertEquals("주문 취소 시 상태는 CANCEL 이다.", OrderStatus.CANCEL, gotOrder.getStatus());
-        assertEquals("주문이 취소된 상품은 그만큼 재고가 증가해야 한다.", 10, item.getStockQuantity());
+        assertEquals("주문이 취소된 상품은 그만큼 재고가 증가해야 한다.", 10, em.find(Item.class, item.getId()).getStockQuantity());
+    }
+
+    @Test
+    public void 부분_일치_검색은_색인이_찾은_회원만_IN_으로_조회한다() {
+        // given: 색인에는 indexed 만 있다(테스트 트랜잭션은 커밋되지 않으므로 직접 넣는다)
+        Member indexed = createMember("부분검색ab");
+        Member notIndexed = createMember("부분검색cd");
+        Item item = createBook("얍얍얍", 10000, 10);
+        Long indexedOrderId = orderService.order(indexed.getId(), item.getId(), 1);
+        orderService.order(notIndexed.getId(), item.getId(), 1);
+        memberNameIndex.put(indexed.getId(), indexed.getName());
+
+        // when
+        List<Order> orders = orderService.searchOrders(containing("  부분검색 "), null, 10);
+
+        // then
+        assertEquals("색인이 찾은 회원으로 좁혀서 조회해야 한다.", List.of(indexedOrderId), orders.stream().map(Order::getId).toList());
+    }
+
+    @Test
+    public void 색인에_없는_이름은_LIKE_로_조회한다() {
+        // given: 다른 노드에서 가입해서 이 JVM 의 색인에는 없는 회원
+        Member member = createMember("색인밖Member");
+        Item item = createBook("얍얍얍", 10000, 10);
+        Long orderId = orderService.order(member.getId(), item.getId(), 1);
+
+        // when
+        List<Order> orders = orderService.searchOrders(containing("밖mem"), null, 10);
+
+        // then
+        assertEquals("색인이 찾지 못하면 DB 에서 대소문자를 무시하고 찾아야 한다.", List.of(orderId), orders.stream().map(Order::getId).toList());
+    }
+
+    private static OrderSearch containing(String name) {
+        OrderSearch cond = new OrderSearch();
+        cond.setMemberName(name);
+        cond.setNameMatch(OrderSearch.NameMatch.CONTAINS);
+        return cond;
     }
 
     private Member createMember() {
+        return createMember("회원1");
+    }
+
+    private Member createMember(String name) {
         Member member = new Member();
-        member.setName("회원1");
+        member.setName(name);
         member.setAddress(new Address("서울", "강가", "123-123"));
         em.persist(member);
         return member;